@@ -0,0 +1,274 @@
+#!/bin/bash
+
+# EmpVerify Blockchain API Thread Mode Benchmark
+# Starts the API once with platform threads and once with virtual threads
+# (spring.threads.virtual.enabled), drives the same concurrent load at each
+# and prints throughput and latency percentiles side by side.
+
+set -e
+
+# Colors for output
+RED='\033[0;31m'
+GREEN='\033[0;32m'
+YELLOW='\033[1;33m'
+BLUE='\033[0;34m'
+NC='\033[0m' # No Color
+
+# Function to print colored output
+print_message() {
+    echo -e "${BLUE}[EmpVerify Benchmark]${NC} $1"
+}
+
+print_success() {
+    echo -e "${GREEN}[SUCCESS]${NC} $1"
+}
+
+print_warning() {
+    echo -e "${YELLOW}[WARNING]${NC} $1"
+}
+
+print_error() {
+    echo -e "${RED}[ERROR]${NC} $1"
+}
+
+# Default values
+ENVIRONMENT="local"
+FABRIC_BASE_PATH=""
+API_PORT="8080"
+API_KEY="org1-member-key"
+ENDPOINT="/employment-records/system/info"
+CONCURRENCY_LEVELS="16 64 256 1024"
+REQUESTS_PER_LEVEL="2000"
+SKIP_BUILD="false"
+
+# Function to show usage
+show_usage() {
+    echo "Usage: $0 [OPTIONS]"
+    echo ""
+    echo "Options:"
+    echo "  -e, --environment ENV    Environment (local|ec2|docker) [default: local]"
+    echo "  -p, --port PORT         API port [default: 8080]"
+    echo "  -f, --fabric-path PATH  Custom Fabric network path"
+    echo "  -k, --api-key KEY       API key sent as X-API-Key [default: org1-member-key]"
+    echo "  -u, --endpoint PATH     Endpoint under /api/v1 [default: /employment-records/system/info]"
+    echo "  -c, --concurrency LIST  Space separated concurrency levels [default: \"16 64 256 1024\"]"
+    echo "  -n, --requests N        Requests per concurrency level [default: 2000]"
+    echo "  -s, --skip-build        Use the existing JAR in build/libs"
+    echo "  -h, --help              Show this help message"
+    echo ""
+    echo "Examples:"
+    echo "  $0                                          # Benchmark getSystemInfo locally"
+    echo "  $0 -u /employment-records/EMP001 -n 5000    # Benchmark record reads"
+    echo "  $0 -c \"100 500 2000\" -s                     # Custom levels, no rebuild"
+}
+
+# Parse command line arguments
+while [[ $# -gt 0 ]]; do
+    case $1 in
+        -e|--environment)
+            ENVIRONMENT="$2"
+            shift 2
+            ;;
+        -p|--port)
+            API_PORT="$2"
+            shift 2
+            ;;
+        -f|--fabric-path)
+            FABRIC_BASE_PATH="$2"
+            shift 2
+            ;;
+        -k|--api-key)
+            API_KEY="$2"
+            shift 2
+            ;;
+        -u|--endpoint)
+            ENDPOINT="$2"
+            shift 2
+            ;;
+        -c|--concurrency)
+            CONCURRENCY_LEVELS="$2"
+            shift 2
+            ;;
+        -n|--requests)
+            REQUESTS_PER_LEVEL="$2"
+            shift 2
+            ;;
+        -s|--skip-build)
+            SKIP_BUILD="true"
+            shift
+            ;;
+        -h|--help)
+            show_usage
+            exit 0
+            ;;
+        *)
+            print_error "Unknown option: $1"
+            show_usage
+            exit 1
+            ;;
+    esac
+done
+
+# Set Fabric base path based on environment if not provided
+if [[ -z "$FABRIC_BASE_PATH" ]]; then
+    case "$ENVIRONMENT" in
+        "local")
+            FABRIC_BASE_PATH="/Users/mac/Desktop/fabric-samples/test-network"
+            ;;
+        "ec2")
+            FABRIC_BASE_PATH="/opt/empverify/fabric-samples/test-network"
+            ;;
+        "docker")
+            FABRIC_BASE_PATH="/fabric-network"
+            ;;
+        *)
+            print_error "Invalid environment: $ENVIRONMENT. Must be 'local', 'ec2', or 'docker'"
+            exit 1
+            ;;
+    esac
+fi
+
+if ! command -v curl &> /dev/null; then
+    print_error "curl is required to run the benchmark"
+    exit 1
+fi
+
+BASE_URL="http://localhost:$API_PORT/api/v1"
+RESULTS_DIR="logs/benchmark-$(date +%Y%m%d-%H%M%S)"
+mkdir -p "$RESULTS_DIR"
+
+print_message "Endpoint: $BASE_URL$ENDPOINT"
+print_message "Concurrency levels: $CONCURRENCY_LEVELS"
+print_message "Requests per level: $REQUESTS_PER_LEVEL"
+print_message "Results: $RESULTS_DIR"
+
+if [[ "$SKIP_BUILD" != "true" ]]; then
+    print_message "Building the application..."
+    if ! ./gradlew clean build -x test; then
+        print_error "Failed to build the application"
+        exit 1
+    fi
+    print_success "Application built successfully"
+fi
+
+JAR_FILE=$(find build/libs -name "empverify-blockchain-api*.jar" | head -n 1)
+if [[ -z "$JAR_FILE" ]]; then
+    print_error "JAR file not found in build/libs directory"
+    exit 1
+fi
+
+# Function to handle cleanup on script exit
+cleanup() {
+    if [[ -n "$API_PID" ]]; then
+        kill $API_PID 2>/dev/null || true
+        wait $API_PID 2>/dev/null || true
+    fi
+}
+
+trap cleanup EXIT
+
+# Start the API in the given mode and wait until readiness reports UP (gateway warm-up done)
+start_api() {
+    local virtual="$1"
+
+    java -Xmx512m -Xms256m \
+        -Dspring.profiles.active="$ENVIRONMENT" \
+        -Dserver.port="$API_PORT" \
+        -Dfabric.network.base-path="$FABRIC_BASE_PATH" \
+        -Dspring.threads.virtual.enabled="$virtual" \
+        -jar "$JAR_FILE" > "$RESULTS_DIR/api-virtual-$virtual.log" 2>&1 &
+    API_PID=$!
+
+    for _ in $(seq 1 180); do
+        if curl -sf "$BASE_URL/actuator/health/readiness" > /dev/null 2>&1; then
+            return 0
+        fi
+        if ! kill -0 $API_PID 2>/dev/null; then
+            print_error "API exited during startup, see $RESULTS_DIR/api-virtual-$virtual.log"
+            exit 1
+        fi
+        sleep 1
+    done
+
+    print_error "API did not become ready within 180 s"
+    exit 1
+}
+
+stop_api() {
+    kill $API_PID 2>/dev/null || true
+    wait $API_PID 2>/dev/null || true
+    API_PID=""
+}
+
+# Send REQUESTS_PER_LEVEL requests with the given concurrency; one line per request: status seconds
+run_level() {
+    local concurrency="$1"
+    local output="$2"
+
+    seq 1 "$REQUESTS_PER_LEVEL" | xargs -P "$concurrency" -I{} \
+        curl -s -o /dev/null -w "%{http_code} %{time_total}\n" \
+        -H "X-API-Key: $API_KEY" "$BASE_URL$ENDPOINT" > "$output"
+}
+
+# Print: requests/s p50 p95 p99 errors (latencies in ms)
+summarize() {
+    local output="$1"
+    local elapsed="$2"
+
+    local errors
+    errors=$(awk '$1 !~ /^2/' "$output" | wc -l | tr -d ' ')
+
+    awk '{ print $2 * 1000 }' "$output" | sort -n | awk -v total="$REQUESTS_PER_LEVEL" -v elapsed="$elapsed" -v errors="$errors" '
+        # Nearest-rank percentile
+        function percentile(p,    rank) {
+            rank = int(NR * p)
+            if (rank < NR * p) rank++
+            return latency[rank > 0 ? rank : 1]
+        }
+        { latency[NR] = $1 }
+        END {
+            printf "%.1f %.0f %.0f %.0f %d\n", total / elapsed, percentile(0.50), percentile(0.95), percentile(0.99), errors
+        }'
+}
+
+benchmark_mode() {
+    local virtual="$1"
+    local label="$2"
+
+    print_message "Starting API with $label threads..."
+    start_api "$virtual"
+    print_success "API ready ($label threads)"
+
+    # Warm the JIT and connection pools before measuring
+    REQUESTS_PER_LEVEL_SAVED="$REQUESTS_PER_LEVEL"
+    REQUESTS_PER_LEVEL=200
+    run_level 16 /dev/null
+    REQUESTS_PER_LEVEL="$REQUESTS_PER_LEVEL_SAVED"
+
+    for concurrency in $CONCURRENCY_LEVELS; do
+        local output="$RESULTS_DIR/$label-$concurrency.txt"
+        local start end elapsed
+
+        start=$(date +%s.%N)
+        run_level "$concurrency" "$output"
+        end=$(date +%s.%N)
+        elapsed=$(awk -v s="$start" -v e="$end" 'BEGIN { print e - s }')
+
+        echo "$label $concurrency $(summarize "$output" "$elapsed")" >> "$RESULTS_DIR/summary.txt"
+        print_message "$label threads, concurrency $concurrency done"
+    done
+
+    stop_api
+}
+
+benchmark_mode false platform
+benchmark_mode true virtual
+
+echo ""
+printf "%-10s %12s %10s %10s %10s %10s %8s\n" "MODE" "CONCURRENCY" "REQ/S" "P50 MS" "P95 MS" "P99 MS" "ERRORS"
+sort -k2,2n -k1,1 "$RESULTS_DIR/summary.txt" | while read -r mode concurrency throughput p50 p95 p99 errors; do
+    printf "%-10s %12s %10s %10s %10s %10s %8s\n" "$mode" "$concurrency" "$throughput" "$p50" "$p95" "$p99" "$errors"
+done
+echo ""
+
+print_success "Benchmark finished, raw results in $RESULTS_DIR"
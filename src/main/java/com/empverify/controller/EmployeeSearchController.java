@@ -1,6 +1,7 @@
 package com.empverify.controller;
 
 import com.empverify.dto.*;
+import com.empverify.exception.AmbiguousEmployerException;
 import com.empverify.service.EmployeeSearchService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,8 +14,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/employment-records/search")
@@ -23,6 +28,8 @@ import org.springframework.web.bind.annotation.*;
 public class EmployeeSearchController {
 
     private static final Logger logger = LoggerFactory.getLogger(EmployeeSearchController.class);
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final int MAX_EMPLOYER_MATCHES = 50;
 
     private final EmployeeSearchService employeeSearchService;
 
@@ -33,10 +40,12 @@ public class EmployeeSearchController {
 
     @PostMapping
     @Operation(summary = "Advanced Employee Search",
-            description = "Search ex-employee records using multiple criteria with disambiguation support")
+            description = "Search ex-employee records using multiple criteria with disambiguation support. "
+                    + "Results come in pages of max_results, best match first; when has_more_results is true, "
+                    + "send next_page_token as page_token with the same criteria for the next page.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Search completed successfully"),
-            @ApiResponse(responseCode = "400", description = "Invalid search criteria"),
+            @ApiResponse(responseCode = "400", description = "Invalid search criteria or page token"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<BlockchainResponse<SearchResponse>> searchEmployees(
@@ -53,6 +62,8 @@ public class EmployeeSearchController {
 
             return ResponseEntity.ok(response);
 
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(BlockchainResponse.error(e.getMessage()));
         } catch (Exception e) {
             logger.error("Error during employee search", e);
             BlockchainResponse<SearchResponse> errorResponse =
@@ -61,12 +72,80 @@ public class EmployeeSearchController {
         }
     }
 
+    @PostMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream Employee Search Results",
+            description = "Same criteria as the advanced search, but every matching result is streamed as NDJSON "
+                    + "in page order, one result per line, followed by a summary line. max_results is ignored; "
+                    + "page_token starts the stream after that page.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Results are streamed"),
+            @ApiResponse(responseCode = "400", description = "Invalid page token"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<?> streamSearchResults(@Valid @RequestBody SearchRequest searchRequest) {
+
+        logger.info("Streaming search request: name='{}', employer='{}', searchType='{}'",
+                searchRequest.getEmployeeName(), searchRequest.getEmployerId(), searchRequest.getSearchType());
+
+        try {
+            StreamingResponseBody body = employeeSearchService.prepareStream(searchRequest);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(BlockchainResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error during streaming search", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(BlockchainResponse.error("Search failed: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Batch Employee Search",
+            description = "Run up to " + MAX_BATCH_SIZE + " searches in one call, e.g. a vendor's list of "
+                    + "(name, employer, period) checks. All searches read the same records and identical searches "
+                    + "run once. Responses are returned in request order; a search that fails gets a no-results "
+                    + "response with the failure as a search tip.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch search completed"),
+            @ApiResponse(responseCode = "400", description = "Empty batch, too many searches or invalid criteria"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<BlockchainResponse<BatchSearchResponse>> searchBatch(
+            @Valid @RequestBody BatchSearchRequest batchRequest) {
+
+        int size = batchRequest.getSearches().size();
+        if (size > MAX_BATCH_SIZE) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(BlockchainResponse.error("A batch can hold at most " + MAX_BATCH_SIZE + " searches, got " + size));
+        }
+
+        logger.info("Batch search request: {} searches", size);
+
+        try {
+            BatchSearchResponse batchResponse = employeeSearchService.searchBatch(batchRequest.getSearches());
+
+            String message = String.format("Batch search completed: %d of %d search(es) found results",
+                    batchResponse.getSearchesWithResults(), batchResponse.getTotalSearches());
+            return ResponseEntity.ok(BlockchainResponse.success(message, batchResponse));
+
+        } catch (Exception e) {
+            logger.error("Error during batch search", e);
+            BlockchainResponse<BatchSearchResponse> errorResponse =
+                    BlockchainResponse.error("Batch search failed: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
     @GetMapping("/by-name")
     @Operation(summary = "Search by Employee Name",
             description = "Quick search by employee name with optional employer filter")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Search completed successfully"),
-            @ApiResponse(responseCode = "400", description = "Invalid search parameters"),
+            @ApiResponse(responseCode = "400", description = "Invalid search parameters or page token"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<BlockchainResponse<SearchResponse>> searchByName(
@@ -80,7 +159,10 @@ public class EmployeeSearchController {
             @RequestParam(defaultValue = "partial") String searchType,
 
             @Parameter(description = "Maximum number of results")
-            @RequestParam(defaultValue = "10") Integer maxResults) {
+            @RequestParam(defaultValue = "10") Integer maxResults,
+
+            @Parameter(description = "next_page_token from the previous page")
+            @RequestParam(required = false) String pageToken) {
 
         logger.info("Search by name: '{}', employer: '{}', type: '{}'", name, employerId, searchType);
 
@@ -90,6 +172,7 @@ public class EmployeeSearchController {
             searchRequest.setEmployerId(employerId);
             searchRequest.setSearchType(searchType);
             searchRequest.setMaxResults(maxResults);
+            searchRequest.setPageToken(pageToken);
 
             SearchResponse searchResponse = employeeSearchService.searchEmployees(searchRequest);
 
@@ -98,6 +181,8 @@ public class EmployeeSearchController {
 
             return ResponseEntity.ok(response);
 
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(BlockchainResponse.error(e.getMessage()));
         } catch (Exception e) {
             logger.error("Error during name search", e);
             BlockchainResponse<SearchResponse> errorResponse =
@@ -111,7 +196,7 @@ public class EmployeeSearchController {
             description = "Get all ex-employees for a specific employer")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Search completed successfully"),
-            @ApiResponse(responseCode = "400", description = "Invalid employer ID"),
+            @ApiResponse(responseCode = "400", description = "Invalid employer ID or page token"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<BlockchainResponse<SearchResponse>> searchByEmployer(
@@ -119,7 +204,10 @@ public class EmployeeSearchController {
             @RequestParam String employerId,
 
             @Parameter(description = "Maximum number of results")
-            @RequestParam(defaultValue = "20") Integer maxResults) {
+            @RequestParam(defaultValue = "20") Integer maxResults,
+
+            @Parameter(description = "next_page_token from the previous page")
+            @RequestParam(required = false) String pageToken) {
 
         logger.info("Search by employer: '{}', maxResults: {}", employerId, maxResults);
 
@@ -127,6 +215,7 @@ public class EmployeeSearchController {
             SearchRequest searchRequest = new SearchRequest();
             searchRequest.setEmployerId(employerId);
             searchRequest.setMaxResults(maxResults);
+            searchRequest.setPageToken(pageToken);
 
             SearchResponse searchResponse = employeeSearchService.searchEmployees(searchRequest);
 
@@ -135,6 +224,8 @@ public class EmployeeSearchController {
 
             return ResponseEntity.ok(response);
 
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(BlockchainResponse.error(e.getMessage()));
         } catch (Exception e) {
             logger.error("Error during employer search", e);
             BlockchainResponse<SearchResponse> errorResponse =
@@ -221,19 +312,53 @@ public class EmployeeSearchController {
         }
     }
 
+    @GetMapping("/employers")
+    @Operation(summary = "Find Employers",
+            description = "Look up employers by name, alias or employer ID, with prefix and fuzzy matching. "
+                    + "Use a returned employer_id to search that employer's records.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Employer lookup completed"),
+            @ApiResponse(responseCode = "400", description = "Invalid limit"),
+            @ApiResponse(responseCode = "503", description = "Record index not ready")
+    })
+    public ResponseEntity<BlockchainResponse<List<EmployerMatchDto>>> findEmployers(
+            @Parameter(description = "Employer name, alias or ID (a prefix is enough)", required = true)
+            @RequestParam String name,
+
+            @Parameter(description = "Maximum number of employers (1-" + MAX_EMPLOYER_MATCHES + ")")
+            @RequestParam(defaultValue = "10") int limit) {
+
+        if (limit < 1 || limit > MAX_EMPLOYER_MATCHES) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(BlockchainResponse.error("limit must be between 1 and " + MAX_EMPLOYER_MATCHES));
+        }
+
+        logger.info("Employer lookup: '{}', limit: {}", name, limit);
+
+        try {
+            List<EmployerMatchDto> employers = employeeSearchService.findEmployers(name, limit);
+            String message = String.format("Employer lookup completed: %d employer(s) found", employers.size());
+            return ResponseEntity.ok(BlockchainResponse.success(message, employers));
+
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(BlockchainResponse.error(e.getMessage()));
+        }
+    }
+
     @GetMapping("/verification")
     @Operation(summary = "Employment Verification",
             description = "Verify employment history for background checks")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Verification completed"),
-            @ApiResponse(responseCode = "404", description = "No employment record found"),
+            @ApiResponse(responseCode = "404", description = "No employment record found, or employer not found"),
+            @ApiResponse(responseCode = "409", description = "Employer name matches more than one employer"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<BlockchainResponse<SearchResponse>> verifyEmployment(
             @Parameter(description = "Employee name", required = true)
             @RequestParam String name,
 
-            @Parameter(description = "Employer name or ID", required = true)
+            @Parameter(description = "Exact employer name, employer ID or configured alias", required = true)
             @RequestParam String employer,
 
             @Parameter(description = "Expected employment start date (YYYY-MM)")
@@ -249,19 +374,15 @@ public class EmployeeSearchController {
             SearchRequest searchRequest = new SearchRequest();
             searchRequest.setEmployeeName(name);
 
-            // Try employer ID first, then employer name
-            if (employer.length() <= 10 && employer.toUpperCase().equals(employer)) {
-                searchRequest.setEmployerId(employer);
-            } else {
-                searchRequest.setEmployerName(employer);
-            }
+            // Resolved to one employer by exact name, ID or alias only
+            searchRequest.setEmployerName(employer);
 
             searchRequest.setEmploymentStartDate(expectedStartDate);
             searchRequest.setEmploymentEndDate(expectedEndDate);
             searchRequest.setSearchType("exact");
             searchRequest.setMaxResults(5);
 
-            SearchResponse searchResponse = employeeSearchService.searchEmployees(searchRequest);
+            SearchResponse searchResponse = employeeSearchService.verifyEmployment(searchRequest);
 
             if (searchResponse.getTotalResults() == 0) {
                 BlockchainResponse<SearchResponse> response =
@@ -275,6 +396,9 @@ public class EmployeeSearchController {
 
             return ResponseEntity.ok(response);
 
+        } catch (AmbiguousEmployerException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(BlockchainResponse.error(e.getMessage()));
+
         } catch (Exception e) {
             logger.error("Error during employment verification", e);
             BlockchainResponse<SearchResponse> errorResponse =
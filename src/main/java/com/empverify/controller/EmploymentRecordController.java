@@ -1,6 +1,7 @@
 package com.empverify.controller;
 
 import com.empverify.dto.*;
+import com.empverify.service.BulkImportService;
 import com.empverify.service.EmploymentRecordService;
 import com.empverify.exception.EmployeeRecordNotFoundException;
 import io.swagger.v3.oas.annotations.Operation;
@@ -9,13 +10,16 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Map;
 
@@ -28,10 +32,13 @@ public class EmploymentRecordController {
     private static final Logger logger = LoggerFactory.getLogger(EmploymentRecordController.class);
 
     private final EmploymentRecordService employmentRecordService;
+    private final BulkImportService bulkImportService;
 
     @Autowired
-    public EmploymentRecordController(EmploymentRecordService employmentRecordService) {
+    public EmploymentRecordController(EmploymentRecordService employmentRecordService,
+                                      BulkImportService bulkImportService) {
         this.employmentRecordService = employmentRecordService;
+        this.bulkImportService = bulkImportService;
     }
 
     // ========================
@@ -59,15 +66,22 @@ public class EmploymentRecordController {
             description = "Create a new employment record with automatic duplicate detection")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Employment record created successfully"),
+            @ApiResponse(responseCode = "202", description = "Employment record accepted, commit pending (async=true)"),
             @ApiResponse(responseCode = "400", description = "Invalid request data or duplicate record detected"),
             @ApiResponse(responseCode = "409", description = "Duplicate record exists"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<BlockchainResponse<String>> createEmploymentRecord(
-            @Valid @RequestBody EmploymentRecordRequest request) {
+    public ResponseEntity<? extends BlockchainResponse<?>> createEmploymentRecord(
+            @Valid @RequestBody EmploymentRecordRequest request,
+            @Parameter(description = "Reply once the transaction is endorsed and poll /transactions/{transactionId} for the commit")
+            @RequestParam(defaultValue = "false") boolean async) {
 
         logger.info("Request to create employment record for employer: {}", request.getEmployerId());
 
+        if (async) {
+            return acceptedOrError(employmentRecordService.createEmploymentRecordAsync(request));
+        }
+
         BlockchainResponse<String> response = employmentRecordService.createEmploymentRecord(request);
 
         // Handle duplicate detection responses
@@ -120,17 +134,24 @@ public class EmploymentRecordController {
             description = "Update an existing employment record with duplicate detection")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Employment record updated successfully"),
+            @ApiResponse(responseCode = "202", description = "Employment record update accepted, commit pending (async=true)"),
             @ApiResponse(responseCode = "400", description = "Invalid request data"),
             @ApiResponse(responseCode = "404", description = "Employment record not found"),
             @ApiResponse(responseCode = "409", description = "Update would create duplicate record"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<BlockchainResponse<String>> updateEmploymentRecord(
+    public ResponseEntity<? extends BlockchainResponse<?>> updateEmploymentRecord(
             @Parameter(description = "Employee ID") @PathVariable String employeeId,
-            @Valid @RequestBody EmploymentRecordUpdateRequest request) {
+            @Valid @RequestBody EmploymentRecordUpdateRequest request,
+            @Parameter(description = "Reply once the transaction is endorsed and poll /transactions/{transactionId} for the commit")
+            @RequestParam(defaultValue = "false") boolean async) {
 
         logger.info("Request to update employment record for employee ID: {}", employeeId);
 
+        if (async) {
+            return acceptedOrError(employmentRecordService.updateEmploymentRecordAsync(employeeId, request));
+        }
+
         BlockchainResponse<String> response = employmentRecordService.updateEmploymentRecord(employeeId, request);
 
         // Handle duplicate detection responses
@@ -144,6 +165,25 @@ public class EmploymentRecordController {
                 ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
+    @GetMapping("/transactions/{transactionId}")
+    @Operation(summary = "Get Transaction Status",
+            description = "Commit status of a create or update submitted with async=true")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Transaction status retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Transaction unknown or no longer tracked")
+    })
+    public ResponseEntity<BlockchainResponse<TransactionStatusDto>> getTransactionStatus(
+            @Parameter(description = "Transaction ID") @PathVariable String transactionId) {
+
+        logger.debug("Request to retrieve status of transaction: {}", transactionId);
+
+        BlockchainResponse<TransactionStatusDto> response = employmentRecordService.getTransactionStatus(transactionId);
+
+        return response.isSuccess() ?
+                ResponseEntity.ok(response) :
+                ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+    }
+
     @PostMapping("/{employeeId}/documents/{documentType}")
     @Operation(summary = "Add Document by Employee ID", description = "Add a document to an employment record")
     @ApiResponses(value = {
@@ -256,19 +296,23 @@ public class EmploymentRecordController {
             description = "Update an employment record using National ID and Employer ID (user-friendly)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Employment record updated successfully"),
+            @ApiResponse(responseCode = "202", description = "Employment record update accepted, commit pending (async=true)"),
             @ApiResponse(responseCode = "404", description = "Employment record not found"),
             @ApiResponse(responseCode = "400", description = "Invalid identifiers or request data"),
             @ApiResponse(responseCode = "409", description = "Update would create duplicate record"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<BlockchainResponse<String>> updateEmploymentRecordByIdentifiers(
+    public ResponseEntity<? extends BlockchainResponse<?>> updateEmploymentRecordByIdentifiers(
             @Parameter(description = "National ID (e.g., GHA-430120870-5)", required = true)
             @RequestParam String nationalId,
 
             @Parameter(description = "Employer ID", required = true)
             @RequestParam String employerId,
 
-            @Valid @RequestBody EmploymentRecordUpdateRequest request) {
+            @Valid @RequestBody EmploymentRecordUpdateRequest request,
+
+            @Parameter(description = "Reply once the transaction is endorsed and poll /transactions/{transactionId} for the commit")
+            @RequestParam(defaultValue = "false") boolean async) {
 
         logger.info("Request to update employment record by identifiers: nationalId='{}', employerId='{}'",
                 maskNationalId(nationalId), employerId);
@@ -278,7 +322,7 @@ public class EmploymentRecordController {
             String employeeId = employmentRecordService.resolveEmployeeId(nationalId, employerId);
 
             // Use existing endpoint logic
-            return updateEmploymentRecord(employeeId, request);
+            return updateEmploymentRecord(employeeId, request, async);
 
         } catch (EmployeeRecordNotFoundException e) {
             logger.warn("No employment record found for update: nationalId='{}', employerId='{}'",
@@ -470,6 +514,39 @@ public class EmploymentRecordController {
         }
     }
 
+    // ========================
+    // BULK IMPORT ENDPOINT
+    // ========================
+
+    @PostMapping(value = "/import",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Bulk Import Employment Records",
+            description = "Create employment records from an NDJSON body (one request object per line) or a CSV body "
+                    + "whose header names JSON property paths such as employee_name.full_name. "
+                    + "Per-row results are streamed back as NDJSON, followed by a summary line.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import started, results are streamed per row"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<?> importEmploymentRecords(HttpServletRequest httpRequest) {
+        String contentType = httpRequest.getContentType();
+        boolean csv = contentType != null && contentType.toLowerCase().startsWith("text/csv");
+
+        logger.info("Request to bulk import employment records ({})", csv ? "CSV" : "NDJSON");
+
+        try {
+            StreamingResponseBody body = bulkImportService.prepareImport(httpRequest.getInputStream(), csv);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+
+        } catch (Exception e) {
+            logger.error("Error starting bulk import", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(BlockchainResponse.error("Failed to start import: " + e.getMessage()));
+        }
+    }
+
     // ========================
     // EXISTING SYSTEM ENDPOINTS (Keep unchanged)
     // ========================
@@ -512,6 +589,40 @@ public class EmploymentRecordController {
                 ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
     }
 
+    @GetMapping("/system/search-index")
+    @Operation(summary = "Get Search Index Status",
+            description = "Retrieve the state of the in-memory record index used by search")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Search index status retrieved successfully"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<BlockchainResponse<Map<String, Object>>> getSearchIndexStatus() {
+        logger.info("Request to retrieve search index status");
+
+        BlockchainResponse<Map<String, Object>> response = employmentRecordService.getSearchIndexStatus();
+
+        return response.isSuccess() ?
+                ResponseEntity.ok(response) :
+                ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+    }
+
+    @GetMapping("/system/read-cache")
+    @Operation(summary = "Get Read Cache Status",
+            description = "Retrieve size and hit/miss statistics of the record and document read cache")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Read cache status retrieved successfully"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<BlockchainResponse<Map<String, Object>>> getReadCacheStatus() {
+        logger.info("Request to retrieve read cache status");
+
+        BlockchainResponse<Map<String, Object>> response = employmentRecordService.getReadCacheStatus();
+
+        return response.isSuccess() ?
+                ResponseEntity.ok(response) :
+                ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+    }
+
     @GetMapping("/system/info")
     @Operation(summary = "Get System Info", description = "Retrieve system information and configuration")
     @ApiResponses(value = {
@@ -580,4 +691,20 @@ public class EmploymentRecordController {
         }
         return "****" + nationalId.substring(nationalId.length() - 4);
     }
-}
\ No newline at end of file
+
+    /**
+     * 202 Accepted for an asynchronous write, 409 for a blocked duplicate, 400 otherwise
+     */
+    private ResponseEntity<BlockchainResponse<TransactionStatusDto>> acceptedOrError(
+            BlockchainResponse<TransactionStatusDto> response) {
+
+        if (!response.isSuccess() && response.getError() != null &&
+                response.getError().contains("Duplicate record detected")) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        }
+
+        return response.isSuccess() ?
+                ResponseEntity.status(HttpStatus.ACCEPTED).body(response) :
+                ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+}
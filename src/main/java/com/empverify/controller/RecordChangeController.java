@@ -0,0 +1,103 @@
+package com.empverify.controller;
+
+import com.empverify.dto.BlockchainResponse;
+import com.empverify.dto.RecordChangeListDto;
+import com.empverify.service.RecordChangeFeed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/employment-records/changes")
+@Tag(name = "Record Changes", description = "Feed of created and changed employment record IDs")
+@SecurityRequirement(name = "apiKey")
+public class RecordChangeController {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecordChangeController.class);
+    private static final int MAX_LIMIT = 5000;
+
+    private final RecordChangeFeed recordChangeFeed;
+
+    @Autowired
+    public RecordChangeController(RecordChangeFeed recordChangeFeed) {
+        this.recordChangeFeed = recordChangeFeed;
+    }
+
+    @GetMapping
+    @Operation(summary = "List Record Changes",
+            description = "Changed employee IDs after a sequence number, oldest first. Pass latest_sequence "
+                    + "as since on the next call; gap=true means changes were missed and the caller must resync.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Changes retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid since or limit")
+    })
+    public ResponseEntity<BlockchainResponse<RecordChangeListDto>> listChanges(
+            @Parameter(description = "Return changes with a sequence number greater than this")
+            @RequestParam(defaultValue = "0") long since,
+
+            @Parameter(description = "Maximum number of changes (1-" + MAX_LIMIT + ")")
+            @RequestParam(defaultValue = "500") int limit) {
+
+        if (since < 0 || limit < 1 || limit > MAX_LIMIT) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(BlockchainResponse.error("since must be >= 0 and limit between 1 and " + MAX_LIMIT));
+        }
+
+        logger.debug("Request for record changes since {} (limit {})", since, limit);
+
+        RecordChangeListDto changes = recordChangeFeed.changesSince(since, limit);
+        String message = String.format("%d change(s) since %d", changes.getChanges().size(), since);
+        return ResponseEntity.ok(BlockchainResponse.success(message, changes));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream Record Changes",
+            description = "Server-sent events: one \"change\" event per changed record, with its sequence number as the "
+                    + "event id. Reconnecting clients resume from Last-Event-ID; a \"gap\" event means changes were missed.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Change stream opened")
+    })
+    public SseEmitter streamChanges(
+            @Parameter(description = "Replay retained changes after this sequence number first (default: new changes only)")
+            @RequestParam(required = false) Long since,
+
+            @Parameter(hidden = true)
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+
+        Long from = since;
+        if (from == null && lastEventId != null && !lastEventId.isBlank()) {
+            try {
+                from = Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException e) {
+                logger.debug("Ignoring invalid Last-Event-ID: {}", lastEventId);
+            }
+        }
+
+        logger.info("Record change stream opened{}", from != null ? " from sequence " + from : "");
+        return recordChangeFeed.subscribe(from);
+    }
+
+    @GetMapping("/status")
+    @Operation(summary = "Get Change Feed Status",
+            description = "Latest sequence, retained history, tracked counters and subscriber count")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Change feed status retrieved successfully")
+    })
+    public ResponseEntity<BlockchainResponse<Map<String, Object>>> getStatus() {
+        return ResponseEntity.ok(BlockchainResponse.success("Change feed status retrieved successfully",
+                recordChangeFeed.getStatistics()));
+    }
+}
@@ -3,6 +3,7 @@ package com.empverify.controller;
 import com.empverify.dto.BlockchainResponse;
 import com.empverify.service.FabricGatewayService;
 import com.empverify.service.IdentityManagerService;
+import com.empverify.service.WriteBatcher;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -26,12 +27,15 @@ public class RoleBasedAccessController {
 
     private final FabricGatewayService fabricGatewayService;
     private final IdentityManagerService identityManager;
+    private final WriteBatcher writeBatcher;
 
     @Autowired
     public RoleBasedAccessController(FabricGatewayService fabricGatewayService,
-                                     IdentityManagerService identityManager) {
+                                     IdentityManagerService identityManager,
+                                     WriteBatcher writeBatcher) {
         this.fabricGatewayService = fabricGatewayService;
         this.identityManager = identityManager;
+        this.writeBatcher = writeBatcher;
     }
 
     @GetMapping("/current-user")
@@ -124,6 +128,7 @@ public class RoleBasedAccessController {
             Map<String, Object> status = fabricGatewayService.getConnectionStatistics();
             status.put("current_user", fabricGatewayService.getCurrentUsername());
             status.put("is_connected", fabricGatewayService.isConnected());
+            status.put("write_batching", writeBatcher.getStatistics());
 
             BlockchainResponse<Map<String, Object>> response =
                     BlockchainResponse.success("Connection status retrieved", status);
@@ -0,0 +1,23 @@
+package com.empverify.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchSearchRequest {
+
+    @JsonProperty("searches")
+    @NotEmpty(message = "At least one search is required")
+    private List<@Valid SearchRequest> searches;
+
+    // Constructors
+    public BatchSearchRequest() {}
+
+    // Getters and Setters
+    public List<SearchRequest> getSearches() { return searches; }
+    public void setSearches(List<SearchRequest> searches) { this.searches = searches; }
+}
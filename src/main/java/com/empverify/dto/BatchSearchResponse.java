@@ -0,0 +1,37 @@
+package com.empverify.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchSearchResponse {
+
+    // One response per search, in request order
+    @JsonProperty("results")
+    private List<SearchResponse> results;
+
+    @JsonProperty("total_searches")
+    private Integer totalSearches;
+
+    // Searches that were answered with at least one result
+    @JsonProperty("searches_with_results")
+    private Integer searchesWithResults;
+
+    @JsonProperty("execution_time_ms")
+    private Long executionTimeMs;
+
+    // Constructors
+    public BatchSearchResponse() {}
+
+    // Getters and Setters
+    public List<SearchResponse> getResults() { return results; }
+    public void setResults(List<SearchResponse> results) { this.results = results; }
+    public Integer getTotalSearches() { return totalSearches; }
+    public void setTotalSearches(Integer totalSearches) { this.totalSearches = totalSearches; }
+    public Integer getSearchesWithResults() { return searchesWithResults; }
+    public void setSearchesWithResults(Integer searchesWithResults) { this.searchesWithResults = searchesWithResults; }
+    public Long getExecutionTimeMs() { return executionTimeMs; }
+    public void setExecutionTimeMs(Long executionTimeMs) { this.executionTimeMs = executionTimeMs; }
+}
@@ -0,0 +1,51 @@
+package com.empverify.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkImportRowResultDto {
+
+    public static final String CREATED = "created";
+    public static final String DUPLICATE = "duplicate";
+    public static final String INVALID = "invalid";
+    public static final String FAILED = "failed";
+
+    @JsonProperty("row")
+    private Integer row;
+
+    @JsonProperty("status")
+    private String status;
+
+    @JsonProperty("employee_id")
+    private String employeeId;
+
+    @JsonProperty("message")
+    private String message;
+
+    @JsonProperty("existing_employee_ids")
+    private List<String> existingEmployeeIds;
+
+    // Constructors
+    public BulkImportRowResultDto() {}
+
+    public BulkImportRowResultDto(Integer row, String status, String message) {
+        this.row = row;
+        this.status = status;
+        this.message = message;
+    }
+
+    // Getters and Setters
+    public Integer getRow() { return row; }
+    public void setRow(Integer row) { this.row = row; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public String getEmployeeId() { return employeeId; }
+    public void setEmployeeId(String employeeId) { this.employeeId = employeeId; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+    public List<String> getExistingEmployeeIds() { return existingEmployeeIds; }
+    public void setExistingEmployeeIds(List<String> existingEmployeeIds) { this.existingEmployeeIds = existingEmployeeIds; }
+}
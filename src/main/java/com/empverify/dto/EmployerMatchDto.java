@@ -0,0 +1,35 @@
+package com.empverify.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EmployerMatchDto {
+
+    @JsonProperty("employer_id")
+    private String employerId;
+
+    // Latest employer name seen on a record; absent for an employer known only by alias
+    @JsonProperty("employer_name")
+    private String employerName;
+
+    // exact, alias, prefix or fuzzy
+    @JsonProperty("match_type")
+    private String matchType;
+
+    @JsonProperty("match_score")
+    private Double matchScore;
+
+    // Constructors
+    public EmployerMatchDto() {}
+
+    // Getters and Setters
+    public String getEmployerId() { return employerId; }
+    public void setEmployerId(String employerId) { this.employerId = employerId; }
+    public String getEmployerName() { return employerName; }
+    public void setEmployerName(String employerName) { this.employerName = employerName; }
+    public String getMatchType() { return matchType; }
+    public void setMatchType(String matchType) { this.matchType = matchType; }
+    public Double getMatchScore() { return matchScore; }
+    public void setMatchScore(Double matchScore) { this.matchScore = matchScore; }
+}
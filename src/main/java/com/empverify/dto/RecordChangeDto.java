@@ -0,0 +1,63 @@
+package com.empverify.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RecordChangeDto {
+
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    // Something changed but the event did not name the record: re-read what you depend on
+    public static final String RESYNC = "RESYNC";
+
+    public static final String SOURCE_EVENT = "contract_event";
+    public static final String SOURCE_COUNTER = "employee_counter";
+
+    @JsonProperty("sequence")
+    private Long sequence;
+
+    @JsonProperty("employee_id")
+    private String employeeId;
+
+    @JsonProperty("change_type")
+    private String changeType;
+
+    @JsonProperty("source")
+    private String source;
+
+    @JsonProperty("event_name")
+    private String eventName;
+
+    @JsonProperty("transaction_id")
+    private String transactionId;
+
+    @JsonProperty("block_number")
+    private Long blockNumber;
+
+    @JsonProperty("detected_at")
+    private LocalDateTime detectedAt;
+
+    // Constructors
+    public RecordChangeDto() {}
+
+    // Getters and Setters
+    public Long getSequence() { return sequence; }
+    public void setSequence(Long sequence) { this.sequence = sequence; }
+    public String getEmployeeId() { return employeeId; }
+    public void setEmployeeId(String employeeId) { this.employeeId = employeeId; }
+    public String getChangeType() { return changeType; }
+    public void setChangeType(String changeType) { this.changeType = changeType; }
+    public String getSource() { return source; }
+    public void setSource(String source) { this.source = source; }
+    public String getEventName() { return eventName; }
+    public void setEventName(String eventName) { this.eventName = eventName; }
+    public String getTransactionId() { return transactionId; }
+    public void setTransactionId(String transactionId) { this.transactionId = transactionId; }
+    public Long getBlockNumber() { return blockNumber; }
+    public void setBlockNumber(Long blockNumber) { this.blockNumber = blockNumber; }
+    public LocalDateTime getDetectedAt() { return detectedAt; }
+    public void setDetectedAt(LocalDateTime detectedAt) { this.detectedAt = detectedAt; }
+}
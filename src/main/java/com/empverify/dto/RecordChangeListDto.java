@@ -0,0 +1,42 @@
+package com.empverify.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RecordChangeListDto {
+
+    @JsonProperty("changes")
+    private List<RecordChangeDto> changes;
+
+    // Pass as since on the next call
+    @JsonProperty("latest_sequence")
+    private Long latestSequence;
+
+    @JsonProperty("oldest_retained_sequence")
+    private Long oldestRetainedSequence;
+
+    // True when changes after since were already dropped from the feed; the caller must resync
+    @JsonProperty("gap")
+    private boolean gap;
+
+    @JsonProperty("has_more")
+    private boolean hasMore;
+
+    // Constructors
+    public RecordChangeListDto() {}
+
+    // Getters and Setters
+    public List<RecordChangeDto> getChanges() { return changes; }
+    public void setChanges(List<RecordChangeDto> changes) { this.changes = changes; }
+    public Long getLatestSequence() { return latestSequence; }
+    public void setLatestSequence(Long latestSequence) { this.latestSequence = latestSequence; }
+    public Long getOldestRetainedSequence() { return oldestRetainedSequence; }
+    public void setOldestRetainedSequence(Long oldestRetainedSequence) { this.oldestRetainedSequence = oldestRetainedSequence; }
+    public boolean isGap() { return gap; }
+    public void setGap(boolean gap) { this.gap = gap; }
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
@@ -47,6 +47,9 @@ public class SearchRequest {
     @JsonProperty("include_similar")
     private Boolean includeSimilar = true; // Include fuzzy matches
 
+    @JsonProperty("page_token")
+    private String pageToken; // next_page_token from the previous page
+
     // Constructors
     public SearchRequest() {}
 
@@ -180,4 +183,12 @@ public class SearchRequest {
     public void setIncludeSimilar(Boolean includeSimilar) {
         this.includeSimilar = includeSimilar;
     }
+
+    public String getPageToken() {
+        return pageToken;
+    }
+
+    public void setPageToken(String pageToken) {
+        this.pageToken = pageToken;
+    }
 }
\ No newline at end of file
@@ -24,6 +24,9 @@ public class SearchResponse {
     @JsonProperty("execution_time_ms")
     private Long executionTimeMs;
 
+    @JsonProperty("cache_hit")
+    private Boolean cacheHit; // Served from the search result cache
+
     @JsonProperty("suggestions")
     private List<String> suggestions; // Alternative search suggestions
 
@@ -39,6 +42,9 @@ public class SearchResponse {
     @JsonProperty("has_more_results")
     private Boolean hasMoreResults; // Indicates if there are more results beyond the limit
 
+    @JsonProperty("next_page_token")
+    private String nextPageToken; // Pass as page_token to get the next page
+
     // Constructors
     public SearchResponse() {}
 
@@ -110,18 +116,35 @@ public class SearchResponse {
         return response;
     }
 
+    /**
+     * Copy with its own lists, so a cached response is never changed through the copy
+     */
+    public static SearchResponse copyOf(SearchResponse other) {
+        SearchResponse response = new SearchResponse();
+        response.totalResults = other.totalResults;
+        response.results = other.results != null ? new java.util.ArrayList<>(other.results) : null;
+        response.searchQuery = other.searchQuery;
+        response.searchTypeUsed = other.searchTypeUsed;
+        response.executionTimeMs = other.executionTimeMs;
+        response.cacheHit = other.cacheHit;
+        response.suggestions = other.suggestions != null ? new java.util.ArrayList<>(other.suggestions) : null;
+        response.disambiguationNeeded = other.disambiguationNeeded;
+        response.searchTips = other.searchTips != null ? new java.util.ArrayList<>(other.searchTips) : null;
+        response.filtersApplied = other.filtersApplied != null ? new java.util.HashMap<>(other.filtersApplied) : null;
+        response.hasMoreResults = other.hasMoreResults;
+        response.nextPageToken = other.nextPageToken;
+        return response;
+    }
+
     // Helper methods
     public void addSearchTip(String tip) {
-        if (searchTips == null) {
-            searchTips = new java.util.ArrayList<>();
-        }
+        // The factory methods set immutable lists
+        searchTips = searchTips == null ? new java.util.ArrayList<>() : new java.util.ArrayList<>(searchTips);
         searchTips.add(tip);
     }
 
     public void addSuggestion(String suggestion) {
-        if (suggestions == null) {
-            suggestions = new java.util.ArrayList<>();
-        }
+        suggestions = suggestions == null ? new java.util.ArrayList<>() : new java.util.ArrayList<>(suggestions);
         suggestions.add(suggestion);
     }
 
@@ -179,6 +202,14 @@ public class SearchResponse {
         this.executionTimeMs = executionTimeMs;
     }
 
+    public Boolean getCacheHit() {
+        return cacheHit;
+    }
+
+    public void setCacheHit(Boolean cacheHit) {
+        this.cacheHit = cacheHit;
+    }
+
     public List<String> getSuggestions() {
         return suggestions;
     }
@@ -218,4 +249,12 @@ public class SearchResponse {
     public void setHasMoreResults(Boolean hasMoreResults) {
         this.hasMoreResults = hasMoreResults;
     }
+
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+
+    public void setNextPageToken(String nextPageToken) {
+        this.nextPageToken = nextPageToken;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.empverify.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TransactionStatusDto {
+
+    public static final String PENDING_COMMIT = "PENDING_COMMIT";
+    public static final String COMMITTED = "COMMITTED";
+    public static final String FAILED = "FAILED";
+
+    @JsonProperty("transaction_id")
+    private String transactionId;
+
+    @JsonProperty("function_name")
+    private String functionName;
+
+    @JsonProperty("employee_id")
+    private String employeeId;
+
+    @JsonProperty("status")
+    private String status;
+
+    @JsonProperty("result")
+    private String result;
+
+    @JsonProperty("error")
+    private String error;
+
+    @JsonProperty("block_number")
+    private Long blockNumber;
+
+    @JsonProperty("submitted_at")
+    private LocalDateTime submittedAt;
+
+    @JsonProperty("completed_at")
+    private LocalDateTime completedAt;
+
+    // Constructors
+    public TransactionStatusDto() {}
+
+    // Getters and Setters
+    public String getTransactionId() { return transactionId; }
+    public void setTransactionId(String transactionId) { this.transactionId = transactionId; }
+    public String getFunctionName() { return functionName; }
+    public void setFunctionName(String functionName) { this.functionName = functionName; }
+    public String getEmployeeId() { return employeeId; }
+    public void setEmployeeId(String employeeId) { this.employeeId = employeeId; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public String getResult() { return result; }
+    public void setResult(String result) { this.result = result; }
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+    public Long getBlockNumber() { return blockNumber; }
+    public void setBlockNumber(Long blockNumber) { this.blockNumber = blockNumber; }
+    public LocalDateTime getSubmittedAt() { return submittedAt; }
+    public void setSubmittedAt(LocalDateTime submittedAt) { this.submittedAt = submittedAt; }
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+}
@@ -0,0 +1,10 @@
+package com.empverify.exception;
+
+/**
+ * An employer name given for verification resolves to more than one employer
+ */
+public class AmbiguousEmployerException extends RuntimeException {
+    public AmbiguousEmployerException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,29 @@
+package com.empverify.exception;
+
+/**
+ * A Fabric call was refused or abandoned because the network is unhealthy or overloaded:
+ * circuit breaker open, concurrency limit reached or call deadline exceeded.
+ */
+public class FabricUnavailableException extends BlockchainException {
+
+    // True when the call was refused before it reached the network, so nothing was sent
+    private final boolean rejectedBeforeCall;
+
+    public FabricUnavailableException(String message) {
+        this(message, false);
+    }
+
+    public FabricUnavailableException(String message, boolean rejectedBeforeCall) {
+        super(message);
+        this.rejectedBeforeCall = rejectedBeforeCall;
+    }
+
+    public FabricUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+        this.rejectedBeforeCall = false;
+    }
+
+    public boolean isRejectedBeforeCall() {
+        return rejectedBeforeCall;
+    }
+}
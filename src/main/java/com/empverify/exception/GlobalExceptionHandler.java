@@ -39,6 +39,14 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
     }
 
+    @ExceptionHandler(FabricUnavailableException.class)
+    public ResponseEntity<BlockchainResponse<String>> handleFabricUnavailableException(FabricUnavailableException ex) {
+        logger.warn("Blockchain network unavailable: {}", ex.getMessage());
+
+        BlockchainResponse<String> response = BlockchainResponse.error("Blockchain network unavailable: " + ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+
     @ExceptionHandler(BlockchainException.class)
     public ResponseEntity<BlockchainResponse<String>> handleBlockchainException(BlockchainException ex) {
         logger.error("Blockchain operation failed: {}", ex.getMessage(), ex);
@@ -0,0 +1,384 @@
+package com.empverify.service;
+
+import com.empverify.dto.BulkImportRowResultDto;
+import com.empverify.dto.DuplicateCheckDto;
+import com.empverify.dto.EmploymentRecordRequest;
+import com.empverify.dto.EmploymentRecordResponse;
+import com.empverify.exception.BlockchainException;
+import com.empverify.service.DuplicatePreventionService.CreateReservation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+/**
+ * Streaming bulk import of employment records from NDJSON or CSV.
+ * The body is read in chunks; each chunk is validated, duplicate-checked in one pass against
+ * the record index and itself, submitted through a bounded pool (each row re-checked under the
+ * same per-employer create lock as single-record creates), and its per-row results are written
+ * back as NDJSON before the next chunk is read.
+ */
+@Service
+public class BulkImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkImportService.class);
+
+    private final FabricGatewayService fabricGatewayService;
+    private final DuplicatePreventionService duplicatePreventionService;
+    private final EmploymentRecordIndexService recordIndexService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ExecutorFactory executorFactory;
+
+    @Value("${empverify.import.chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${empverify.import.parallelism:8}")
+    private int parallelism;
+
+    private ExecutorService importExecutor;
+
+    private record ParsedRow(int rowNumber, EmploymentRecordRequest request, String error) {
+    }
+
+    @Autowired
+    public BulkImportService(FabricGatewayService fabricGatewayService,
+                             DuplicatePreventionService duplicatePreventionService,
+                             EmploymentRecordIndexService recordIndexService,
+                             ObjectMapper objectMapper,
+                             Validator validator,
+                             ExecutorFactory executorFactory) {
+        this.fabricGatewayService = fabricGatewayService;
+        this.duplicatePreventionService = duplicatePreventionService;
+        this.recordIndexService = recordIndexService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.executorFactory = executorFactory;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        importExecutor = executorFactory.newFixedPool("record-import", parallelism);
+    }
+
+    /**
+     * Resolve the caller on the request thread, then return the response body that performs the
+     * import while it streams. Without the record index every row's duplicate check scans the
+     * ledger, which is correct but much slower.
+     */
+    public StreamingResponseBody prepareImport(InputStream body, boolean csv) {
+        String apiKey = fabricGatewayService.getCurrentApiKey();
+
+        if (!recordIndexService.isReady()) {
+            logger.warn("Record index is not ready, bulk import duplicate checks will scan the ledger for every row");
+        }
+
+        return out -> runImport(apiKey, body, csv, out);
+    }
+
+    private void runImport(String apiKey, InputStream body, boolean csv, OutputStream out) throws IOException {
+        long startTime = System.currentTimeMillis();
+        Map<String, Integer> totals = new LinkedHashMap<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            RowSource rows = csv ? new CsvRowSource(reader) : new NdjsonRowSource(reader);
+
+            List<ParsedRow> chunk;
+            while (!(chunk = rows.next(chunkSize)).isEmpty()) {
+                for (BulkImportRowResultDto result : processChunk(apiKey, chunk)) {
+                    totals.merge(result.getStatus(), 1, Integer::sum);
+                    writeLine(out, result);
+                }
+                out.flush();
+            }
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("status", "complete");
+        summary.put("rows", totals.values().stream().mapToInt(Integer::intValue).sum());
+        summary.put("results", totals);
+        summary.put("elapsed_ms", System.currentTimeMillis() - startTime);
+        writeLine(out, summary);
+        out.flush();
+
+        logger.info("Bulk import finished: {}", summary);
+    }
+
+    private List<BulkImportRowResultDto> processChunk(String apiKey, List<ParsedRow> chunk) {
+        Map<Integer, BulkImportRowResultDto> results = new TreeMap<>();
+        Map<Integer, EmploymentRecordRequest> validRows = new LinkedHashMap<>();
+
+        for (ParsedRow row : chunk) {
+            String error = row.error() != null ? row.error() : validate(row.request());
+            if (error != null) {
+                results.put(row.rowNumber(), new BulkImportRowResultDto(row.rowNumber(), BulkImportRowResultDto.INVALID, error));
+            } else {
+                validRows.put(row.rowNumber(), row.request());
+            }
+        }
+
+        Map<Integer, DuplicateCheckDto> duplicateChecks = duplicatePreventionService.checkBatchForDuplicates(validRows);
+        Map<Integer, CompletableFuture<BulkImportRowResultDto>> submissions = new LinkedHashMap<>();
+
+        for (Map.Entry<Integer, EmploymentRecordRequest> row : validRows.entrySet()) {
+            int rowNumber = row.getKey();
+            DuplicateCheckDto duplicateCheck = duplicateChecks.get(rowNumber);
+
+            if (duplicatePreventionService.shouldBlockDuplicate(duplicateCheck)) {
+                BulkImportRowResultDto result = new BulkImportRowResultDto(
+                        rowNumber, BulkImportRowResultDto.DUPLICATE, duplicateCheck.getMessage());
+                result.setExistingEmployeeIds(duplicateCheck.getExistingEmployeeIds());
+                results.put(rowNumber, result);
+            } else {
+                submissions.put(rowNumber, CompletableFuture.supplyAsync(
+                        () -> createRecord(apiKey, rowNumber, row.getValue(), duplicateCheck), importExecutor));
+            }
+        }
+
+        submissions.forEach((rowNumber, submission) -> results.put(rowNumber, submission.join()));
+        return new ArrayList<>(results.values());
+    }
+
+    /**
+     * Submit one row. The batch check covered the rows before it; the row is checked again under
+     * the employer's create lock and its name reserved, so a concurrent single-record create or
+     * another import cannot slip in between the check and the submit.
+     */
+    private BulkImportRowResultDto createRecord(String apiKey, int rowNumber, EmploymentRecordRequest request,
+                                                DuplicateCheckDto batchCheck) {
+        CreateReservation reservation = duplicatePreventionService.reserveCreate(
+                request.getEmployeeName(), request.getEmployerId());
+        if (reservation.blocked()) {
+            BulkImportRowResultDto result = new BulkImportRowResultDto(
+                    rowNumber, BulkImportRowResultDto.DUPLICATE, reservation.duplicateCheck().getMessage());
+            result.setExistingEmployeeIds(reservation.duplicateCheck().getExistingEmployeeIds());
+            return result;
+        }
+
+        try {
+            String result = fabricGatewayService.submitTransactionForApiKey(
+                    apiKey, "createRecord", objectMapper.writeValueAsString(request));
+            EmploymentRecordResponse response = objectMapper.readValue(result, EmploymentRecordResponse.class);
+
+            recordIndexService.recordCreated(request, response.getEmployeeId(), true);
+
+            DuplicateCheckDto duplicateCheck = reservation.duplicateCheck().getIsDuplicate()
+                    ? reservation.duplicateCheck() : batchCheck;
+            String message = "Employment record created successfully";
+            if (duplicateCheck != null && duplicateCheck.getIsDuplicate()) {
+                message += " (Warning: " + duplicateCheck.getMessage() + ")";
+            }
+
+            BulkImportRowResultDto rowResult = new BulkImportRowResultDto(rowNumber, BulkImportRowResultDto.CREATED, message);
+            rowResult.setEmployeeId(response.getEmployeeId());
+            return rowResult;
+
+        } catch (BlockchainException e) {
+            String cause = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+            return new BulkImportRowResultDto(rowNumber, BulkImportRowResultDto.FAILED, cause);
+        } catch (Exception e) {
+            logger.debug("Import row {} failed", rowNumber, e);
+            return new BulkImportRowResultDto(rowNumber, BulkImportRowResultDto.FAILED, e.getMessage());
+        } finally {
+            reservation.release();
+        }
+    }
+
+    /**
+     * Same bean validation as @Valid on the single-record endpoint; null when the request is valid
+     */
+    private String validate(EmploymentRecordRequest request) {
+        Set<ConstraintViolation<EmploymentRecordRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void writeLine(OutputStream out, Object value) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(value));
+        out.write('\n');
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (importExecutor != null) {
+            importExecutor.shutdownNow();
+        }
+    }
+
+    // ==================== ROW SOURCES ====================
+
+    private interface RowSource {
+        /**
+         * Up to {@code max} more rows; empty at end of input
+         */
+        List<ParsedRow> next(int max) throws IOException;
+    }
+
+    /**
+     * One JSON object per line; blank lines are skipped
+     */
+    private final class NdjsonRowSource implements RowSource {
+
+        private final BufferedReader reader;
+        private int rowNumber = 0;
+
+        private NdjsonRowSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public List<ParsedRow> next(int max) throws IOException {
+            List<ParsedRow> rows = new ArrayList<>();
+            String line;
+            while (rows.size() < max && (line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                rowNumber++;
+                try {
+                    rows.add(new ParsedRow(rowNumber, objectMapper.readValue(line, EmploymentRecordRequest.class), null));
+                } catch (JsonProcessingException e) {
+                    rows.add(new ParsedRow(rowNumber, null, "Invalid JSON: " + e.getOriginalMessage()));
+                }
+            }
+            return rows;
+        }
+    }
+
+    /**
+     * RFC 4180 CSV with a header row. Header names are JSON property paths with dots for nesting,
+     * e.g. employee_name.full_name, tenure.start_date; empty cells are left unset.
+     */
+    private final class CsvRowSource implements RowSource {
+
+        private final BufferedReader reader;
+        private List<String> header;
+        private int rowNumber = 0;
+
+        private CsvRowSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public List<ParsedRow> next(int max) throws IOException {
+            if (header == null) {
+                header = readRecord();
+                if (header == null) {
+                    return List.of();
+                }
+            }
+
+            List<ParsedRow> rows = new ArrayList<>();
+            List<String> values;
+            while (rows.size() < max && (values = readRecord()) != null) {
+                if (values.size() == 1 && values.get(0).isBlank()) {
+                    continue;
+                }
+                rowNumber++;
+                try {
+                    rows.add(new ParsedRow(rowNumber, objectMapper.treeToValue(toJson(values), EmploymentRecordRequest.class), null));
+                } catch (JsonProcessingException e) {
+                    rows.add(new ParsedRow(rowNumber, null, "Invalid row: " + e.getOriginalMessage()));
+                }
+            }
+            return rows;
+        }
+
+        private JsonNode toJson(List<String> values) {
+            ObjectNode root = objectMapper.createObjectNode();
+
+            for (int i = 0; i < Math.min(header.size(), values.size()); i++) {
+                if (values.get(i).isEmpty()) {
+                    continue;
+                }
+
+                String[] path = header.get(i).trim().split("\\.");
+                ObjectNode node = root;
+                for (int j = 0; j < path.length - 1; j++) {
+                    JsonNode child = node.get(path[j]);
+                    node = child instanceof ObjectNode childObject ? childObject : node.putObject(path[j]);
+                }
+                node.put(path[path.length - 1], values.get(i));
+            }
+            return root;
+        }
+
+        /**
+         * Next record as a list of fields, or null at end of input. Quoted fields may contain
+         * commas, doubled quotes and line breaks.
+         */
+        private List<String> readRecord() throws IOException {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean readAny = false;
+
+            int c;
+            while ((c = reader.read()) != -1) {
+                readAny = true;
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        int next = reader.read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            if (next != -1) {
+                                reader.reset();
+                            }
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+            }
+
+            if (!readAny) {
+                return null;
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
@@ -3,10 +3,9 @@ package com.empverify.service;
 import com.empverify.dto.DuplicateCheckDto;
 import com.empverify.dto.DuplicateCheckRequest;
 import com.empverify.dto.EmploymentRecordDto;
+import com.empverify.dto.EmploymentRecordRequest;
 import com.empverify.dto.NameInfoDto;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,15 +13,25 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 @Service
 public class DuplicatePreventionService {
 
     private static final Logger logger = LoggerFactory.getLogger(DuplicatePreventionService.class);
+    private static final int CREATE_LOCK_STRIPES = 64;
+    private static final double SIMILAR_NAME_THRESHOLD = 0.8;
+    private static final String PENDING_CREATE = "pending create";
 
     private final FabricGatewayService fabricGatewayService;
-    private final ObjectMapper objectMapper;
+    private final EmploymentRecordIndexService recordIndexService;
+    private final LedgerScanner ledgerScanner;
+    private final ScanPlanner scanPlanner;
+
+    // Serializes check-and-reserve per employer, since the similar-name check covers the whole employer.
+    // A lock rather than synchronized: the check may scan the ledger and must not pin a virtual thread.
+    private final ReentrantLock[] createLocks = new ReentrantLock[CREATE_LOCK_STRIPES];
 
     @Value("${empverify.duplicate-prevention.enabled:true}")
     private boolean duplicatePreventionEnabled;
@@ -34,9 +43,51 @@ public class DuplicatePreventionService {
     private boolean checkSimilarNames;
 
     @Autowired
-    public DuplicatePreventionService(FabricGatewayService fabricGatewayService, ObjectMapper objectMapper) {
+    public DuplicatePreventionService(FabricGatewayService fabricGatewayService,
+                                      EmploymentRecordIndexService recordIndexService,
+                                      LedgerScanner ledgerScanner,
+                                      ScanPlanner scanPlanner) {
         this.fabricGatewayService = fabricGatewayService;
-        this.objectMapper = objectMapper;
+        this.recordIndexService = recordIndexService;
+        this.ledgerScanner = ledgerScanner;
+        this.scanPlanner = scanPlanner;
+        for (int i = 0; i < createLocks.length; i++) {
+            createLocks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Outcome of a create's duplicate check. Unless blocked, the name stays reserved at the
+     * employer, and is seen by every later check, until release(); call it once the new record
+     * is in the index or the create has failed.
+     */
+    public record CreateReservation(DuplicateCheckDto duplicateCheck, boolean blocked, Runnable releaser) {
+        public void release() {
+            releaser.run();
+        }
+    }
+
+    /**
+     * Check a create for duplicates and, unless that blocks it, reserve the name at the employer.
+     * Only the check and the reservation hold the employer's lock; the ledger submit happens
+     * outside it, so creates at the same employer do not wait for each other's commits.
+     */
+    public CreateReservation reserveCreate(NameInfoDto employeeName, String employerId) {
+        ReentrantLock lock = createLocks[Math.floorMod(String.valueOf(employerId).hashCode(), createLocks.length)];
+
+        lock.lock();
+        try {
+            DuplicateCheckDto duplicateCheck = checkForDuplicates(employeeName, employerId);
+            if (shouldBlockDuplicate(duplicateCheck)) {
+                return new CreateReservation(duplicateCheck, true, () -> { });
+            }
+
+            EmploymentRecordIndex index = recordIndexService.getIndex();
+            long reservationId = index.reservePendingCreate(employerId, normalizeEmployeeName(employeeName));
+            return new CreateReservation(duplicateCheck, false, () -> index.releasePendingCreate(employerId, reservationId));
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -62,7 +113,7 @@ public class DuplicatePreventionService {
             if (matchingRecords.isEmpty()) {
                 logger.debug("No matching records found for employee '{}' at employer '{}'",
                         targetEmployeeName, employerId);
-                return DuplicateCheckDto.noDuplicate();
+                return checkPendingCreates(request);
             }
 
             // STEP 2: Check for exact matches in the filtered results
@@ -86,7 +137,7 @@ public class DuplicatePreventionService {
 
             logger.debug("No duplicates found for employee '{}' at employer '{}'",
                     targetEmployeeName, employerId);
-            return DuplicateCheckDto.noDuplicate();
+            return checkPendingCreates(request);
 
         } catch (Exception e) {
             logger.error("Error checking for duplicates", e);
@@ -95,6 +146,24 @@ public class DuplicatePreventionService {
         }
     }
 
+    /**
+     * Check against creates that passed their own check but are not indexed yet
+     */
+    private DuplicateCheckDto checkPendingCreates(DuplicateCheckRequest request) {
+        String requestName = normalizeEmployeeName(request.getEmployeeName());
+        Collection<String> pendingNames = recordIndexService.getIndex().pendingCreateNames(request.getEmployerId());
+
+        if (pendingNames.contains(requestName)) {
+            logger.warn("Exact duplicate of a pending create for employer '{}'", request.getEmployerId());
+            return DuplicateCheckDto.exactMatch(List.of(PENDING_CREATE));
+        }
+        if (shouldCheckSimilarNames(determineEffectiveCheckLevel(request.getCheckLevel()))
+                && pendingNames.stream().anyMatch(pendingName -> isSimilarName(requestName, pendingName))) {
+            return DuplicateCheckDto.similarMatch(List.of(PENDING_CREATE), "similar_name_match");
+        }
+        return DuplicateCheckDto.noDuplicate();
+    }
+
     /**
      * Find exact matches in the pre-filtered results (much smaller list now)
      */
@@ -123,7 +192,7 @@ public class DuplicatePreventionService {
                 .filter(record -> !record.getEmployeeId().equals(excludeId)) // Exclude the specified ID
                 .filter(record -> {
                     String existingName = normalizeEmployeeName(record.getEmployeeName());
-                    return calculateNameSimilarity(requestName, existingName) >= 0.8; // 80% similarity threshold
+                    return isSimilarName(requestName, existingName);
                 })
                 .map(EmploymentRecordDto::getEmployeeId)
                 .collect(Collectors.toList());
@@ -154,26 +223,31 @@ public class DuplicatePreventionService {
 
     /**
      * Get all employment records for a specific employer using optimized name-first filtering
-     * Uses system counter to determine total records, then filters by name first
+     * Scans every year that has records, filtering by name first
      */
     private List<EmploymentRecordDto> getAllRecordsForEmployer(String employerId, String targetEmployeeName) {
+        if (recordIndexService.isReady()) {
+            return getIndexedRecordsForEmployer(employerId, targetEmployeeName);
+        }
+
         List<EmploymentRecordDto> matchingRecords = new ArrayList<>();
 
         try {
-            // Step 1: Get current counter to know total number of records
-            int currentYear = Calendar.getInstance().get(Calendar.YEAR);
-            int totalRecords = getTotalRecordsCount(currentYear);
+            // Step 1: Plan the scan from the year counters; a record created moments ago must be seen
+            String apiKey = fabricGatewayService.getCurrentApiKey();
+            scanPlanner.invalidate(scanPlanner.currentYear());
+            ScanPlanner.ScanPlan plan = getScanPlan(apiKey);
 
-            if (totalRecords == 0) {
-                logger.debug("No existing records found (counter is 0)");
+            if (plan.totalIds() == 0) {
+                logger.debug("No existing records found (counters are 0)");
                 return matchingRecords;
             }
 
             logger.debug("Scanning {} total records for name matches, then checking employer: {}",
-                    totalRecords, employerId);
+                    plan.totalIds(), employerId);
 
             // Step 2: Scan all records, filter by name FIRST (much faster)
-            List<EmploymentRecordDto> nameMatches = findRecordsByName(targetEmployeeName, totalRecords, currentYear);
+            List<EmploymentRecordDto> nameMatches = findRecordsByName(targetEmployeeName, apiKey, plan);
 
             // Step 3: From name matches, filter by employer (small subset now)
             for (EmploymentRecordDto record : nameMatches) {
@@ -193,24 +267,46 @@ public class DuplicatePreventionService {
     }
 
     /**
-     * Get total number of records from system counter
+     * Indexed lookup: hash hit for the exact canonical name, plus a similarity pass over
+     * the distinct names already recorded for this employer only
      */
-    private int getTotalRecordsCount(int year) {
-        try {
-            String counterResult = fabricGatewayService.evaluateTransaction("getEmployeeCounter", String.valueOf(year));
+    private List<EmploymentRecordDto> getIndexedRecordsForEmployer(String employerId, String targetEmployeeName) {
+        EmploymentRecordIndex index = recordIndexService.getIndex();
+        String canonicalName = EmploymentRecordIndex.canonicalName(targetEmployeeName);
 
-            if (counterResult != null && !counterResult.trim().isEmpty()) {
-                JsonNode counterJson = objectMapper.readTree(counterResult);
-                int currentCounter = counterJson.get("current_counter").asInt();
-                logger.debug("System counter shows {} total records for year {}", currentCounter, year);
-                return currentCounter;
+        List<EmploymentRecordDto> matchingRecords = new ArrayList<>(
+                index.findByEmployerAndCanonicalName(employerId, canonicalName));
+
+        if (checkSimilarNames) {
+            for (String existingName : index.canonicalNamesForEmployer(employerId)) {
+                if (!existingName.equals(canonicalName) && isSimilarName(canonicalName, existingName)) {
+                    matchingRecords.addAll(index.findByEmployerAndCanonicalName(employerId, existingName));
+                }
             }
-        } catch (Exception e) {
-            logger.warn("Could not get system counter, using fallback method: {}", e.getMessage());
         }
 
-        // Fallback: Check if any records exist by trying first few IDs
-        return estimateRecordCount(year);
+        logger.debug("Index lookup found {} candidate records for employee '{}' at employer: {}",
+                matchingRecords.size(), targetEmployeeName, employerId);
+        return matchingRecords;
+    }
+
+    /**
+     * Scan plan over every year with records, from the system counters
+     */
+    private ScanPlanner.ScanPlan getScanPlan(String apiKey) {
+        ScanPlanner.ScanPlan plan = scanPlanner.planAll(apiKey);
+        if (!plan.counters().isEmpty()) {
+            return plan;
+        }
+
+        // Fallback: no counter readable, check the current year by probing IDs
+        logger.warn("Could not get system counters, using fallback method");
+        int currentYear = scanPlanner.currentYear();
+        int estimated = estimateRecordCount(currentYear);
+        List<ScanPlanner.ScanRange> ranges = estimated > 0
+                ? List.of(new ScanPlanner.ScanRange(currentYear, 1, estimated))
+                : List.of();
+        return new ScanPlanner.ScanPlan(ranges, Map.of());
     }
 
     /**
@@ -242,34 +338,22 @@ public class DuplicatePreventionService {
     /**
      * Find all records that match the target employee name (step 1 of filtering)
      */
-    private List<EmploymentRecordDto> findRecordsByName(String targetEmployeeName, int totalRecords, int year) {
+    private List<EmploymentRecordDto> findRecordsByName(String targetEmployeeName, String apiKey, ScanPlanner.ScanPlan plan) {
         List<EmploymentRecordDto> nameMatches = new ArrayList<>();
         String normalizedTargetName = targetEmployeeName.toLowerCase().trim();
 
-        // Scan through all records, checking name first (fastest filter)
-        for (int counter = 1; counter <= totalRecords; counter++) {
-            String employeeId = String.format("EMP-%d-%06d", year, counter);
+        // Stream all records in chunks, checking name first (fastest filter)
+        ledgerScanner.scan(apiKey, plan, record -> {
+            if (record.getEmployeeName() != null && record.getEmployeeName().getFullName() != null) {
+                String recordName = record.getEmployeeName().getFullName().toLowerCase().trim();
 
-            try {
-                String result = fabricGatewayService.evaluateTransaction("getRecord", employeeId);
-                EmploymentRecordDto record = objectMapper.readValue(result, EmploymentRecordDto.class);
-
-                // Quick name check FIRST (before any other processing)
-                if (record.getEmployeeName() != null && record.getEmployeeName().getFullName() != null) {
-                    String recordName = record.getEmployeeName().getFullName().toLowerCase().trim();
-
-                    // Check for exact or similar name match
-                    if (isNameMatch(normalizedTargetName, recordName)) {
-                        nameMatches.add(record);
-                        logger.debug("Name match found: '{}' (ID: {})", recordName, employeeId);
-                    }
+                // Check for exact or similar name match
+                if (isNameMatch(normalizedTargetName, recordName)) {
+                    nameMatches.add(record);
+                    logger.debug("Name match found: '{}' (ID: {})", recordName, record.getEmployeeId());
                 }
-
-            } catch (Exception e) {
-                // Record not found or error - continue to next ID
-                // This is expected for some employee IDs
             }
-        }
+        });
 
         logger.debug("Found {} records with matching names for '{}'", nameMatches.size(), targetEmployeeName);
         return nameMatches;
@@ -286,8 +370,7 @@ public class DuplicatePreventionService {
 
         // Similar match (if enabled)
         if (checkSimilarNames) {
-            double similarity = calculateNameSimilarity(targetName, recordName);
-            return similarity >= 0.8; // 80% similarity threshold
+            return isSimilarName(targetName, recordName);
         }
 
         return false;
@@ -317,56 +400,15 @@ public class DuplicatePreventionService {
             return "";
         }
 
-        return nameInfo.getFullName()
-                .toLowerCase()
-                .replaceAll("[^a-z0-9\\s]", "") // Remove special characters
-                .replaceAll("\\s+", " ") // Normalize whitespace
-                .trim();
-    }
-
-    /**
-     * Calculate similarity between two names using Levenshtein distance
-     */
-    private double calculateNameSimilarity(String name1, String name2) {
-        if (name1 == null || name2 == null) {
-            return 0.0;
-        }
-
-        if (name1.equals(name2)) {
-            return 1.0;
-        }
-
-        int maxLength = Math.max(name1.length(), name2.length());
-        if (maxLength == 0) {
-            return 1.0;
-        }
-
-        int distance = levenshteinDistance(name1, name2);
-        return 1.0 - (double) distance / maxLength;
+        // Lowercase, strip special characters, normalize whitespace
+        return EmploymentRecordIndex.canonicalName(nameInfo.getFullName());
     }
 
     /**
-     * Calculate Levenshtein distance between two strings
+     * Whether two normalized names are at least 80% similar by edit distance
      */
-    private int levenshteinDistance(String s1, String s2) {
-        int[][] dp = new int[s1.length() + 1][s2.length() + 1];
-
-        for (int i = 0; i <= s1.length(); i++) {
-            dp[i][0] = i;
-        }
-
-        for (int j = 0; j <= s2.length(); j++) {
-            dp[0][j] = j;
-        }
-
-        for (int i = 1; i <= s1.length(); i++) {
-            for (int j = 1; j <= s2.length(); j++) {
-                int cost = (s1.charAt(i - 1) == s2.charAt(j - 1)) ? 0 : 1;
-                dp[i][j] = Math.min(Math.min(dp[i - 1][j] + 1, dp[i][j - 1] + 1), dp[i - 1][j - 1] + cost);
-            }
-        }
-
-        return dp[s1.length()][s2.length()];
+    private boolean isSimilarName(String name1, String name2) {
+        return NameSimilarity.similarity(name1, name2, SIMILAR_NAME_THRESHOLD) >= SIMILAR_NAME_THRESHOLD;
     }
 
     /**
@@ -452,4 +494,49 @@ public class DuplicatePreventionService {
         request.setExcludeEmployeeId(currentEmployeeId);
         return checkForDuplicates(request);
     }
-}
\ No newline at end of file
+
+    /**
+     * Check a whole import batch in one pass: each row against the existing records and against
+     * the rows before it in the same batch. In-batch matches report "import row N" as the existing ID.
+     * Keys are row numbers, iterated in the order the rows should be considered.
+     */
+    public Map<Integer, DuplicateCheckDto> checkBatchForDuplicates(Map<Integer, EmploymentRecordRequest> rows) {
+        Map<Integer, DuplicateCheckDto> results = new LinkedHashMap<>();
+        Map<String, Map<String, Integer>> batchNamesByEmployer = new HashMap<>();
+
+        for (Map.Entry<Integer, EmploymentRecordRequest> row : rows.entrySet()) {
+            EmploymentRecordRequest request = row.getValue();
+            DuplicateCheckDto check = checkForDuplicates(request.getEmployeeName(), request.getEmployerId());
+
+            String canonicalName = normalizeEmployeeName(request.getEmployeeName());
+            Map<String, Integer> batchNames = batchNamesByEmployer.computeIfAbsent(request.getEmployerId(), k -> new HashMap<>());
+
+            if (duplicatePreventionEnabled && !check.getIsDuplicate()) {
+                check = checkWithinBatch(canonicalName, batchNames);
+            }
+
+            batchNames.putIfAbsent(canonicalName, row.getKey());
+            results.put(row.getKey(), check);
+        }
+        return results;
+    }
+
+    private DuplicateCheckDto checkWithinBatch(String canonicalName, Map<String, Integer> batchNames) {
+        Integer exactRow = batchNames.get(canonicalName);
+        if (exactRow != null) {
+            return DuplicateCheckDto.exactMatch(List.of("import row " + exactRow));
+        }
+
+        if (checkSimilarNames) {
+            List<String> similarRows = batchNames.entrySet().stream()
+                    .filter(entry -> isSimilarName(canonicalName, entry.getKey()))
+                    .map(entry -> "import row " + entry.getValue())
+                    .collect(Collectors.toList());
+            if (!similarRows.isEmpty()) {
+                return DuplicateCheckDto.similarMatch(similarRows, "similar_name_match");
+            }
+        }
+
+        return DuplicateCheckDto.noDuplicate();
+    }
+}
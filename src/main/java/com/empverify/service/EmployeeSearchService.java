@@ -1,50 +1,217 @@
 package com.empverify.service;
 
 import com.empverify.dto.*;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.empverify.exception.AmbiguousEmployerException;
+import com.empverify.service.EmployerDirectory.EmployerMatch;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
+/**
+ * Employee search over the record index. Results are ordered by match score, then employee ID,
+ * and paged by keyset: a page token holds the last result of its page, so the next page starts
+ * right after it. Results from the live index are cached per normalized request in a bounded
+ * LRU map; an entry is only served while no record of the request's employer (any record, for
+ * searches without an employer) has changed since.
+ */
 @Service
 public class EmployeeSearchService {
 
     private static final Logger logger = LoggerFactory.getLogger(EmployeeSearchService.class);
     private static final double FUZZY_MATCH_THRESHOLD = 0.7;
 
+    // Below this many employer records a direct similarity check is cheaper than the trigram index
+    private static final int FUZZY_INDEX_MIN_CANDIDATES = 500;
+
+    // Employers an employer name may resolve to before the caller is asked to narrow it down
+    private static final int MAX_RESOLVED_EMPLOYERS = 5;
+
+    // Page order: best match first, ties by employee ID so every result has a fixed position
+    private static final Comparator<SearchResult> RESULT_ORDER = (a, b) ->
+            compareRank(score(a), a.getEmployeeId(), score(b), b.getEmployeeId());
+
+    // Results searched per page of a stream; bounds the memory a stream holds at once
+    private static final int STREAM_PAGE_SIZE = 500;
+    private static final int STREAM_FLUSH_INTERVAL = 100;
+
     private final FabricGatewayService fabricGatewayService;
+    private final EmploymentRecordIndexService recordIndexService;
+    private final LedgerScanner ledgerScanner;
+    private final ScanPlanner scanPlanner;
     private final ObjectMapper objectMapper;
 
+    @Value("${empverify.search-cache.enabled:true}")
+    private boolean cacheEnabled;
+
+    @Value("${empverify.search-cache.max-entries:1000}")
+    private int maxCacheEntries;
+
+    private final LinkedHashMap<String, CachedSearch> resultCache = new LinkedHashMap<>(256, 0.75f, true);
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+
+    // indexVersion is the employer (or whole-index) version the response was computed at
+    private record CachedSearch(SearchResponse response, long indexVersion) {
+    }
+
+    // A batch's name-only search being scored in the shared pass over the records
+    private record NameScan(SearchRequest request, PageCursor after, TopResults top) {
+    }
+
+    /**
+     * Position after the last result of a page. The query fingerprint ties a token to the
+     * search criteria it was issued for; page size may change between pages.
+     */
+    record PageCursor(double matchScore, String employeeId, String queryFingerprint) {
+
+        static PageCursor after(SearchResult result, String queryFingerprint) {
+            return new PageCursor(result.getMatchScore() != null ? result.getMatchScore() : 0.0,
+                    result.getEmployeeId(), queryFingerprint);
+        }
+
+        static PageCursor decode(String token, String queryFingerprint) {
+            if (token == null) {
+                return null;
+            }
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", 4);
+                if (parts.length == 4 && parts[0].equals("1") && parts[2].equals(queryFingerprint)) {
+                    return new PageCursor(Double.longBitsToDouble(Long.parseUnsignedLong(parts[1], 16)), parts[3], parts[2]);
+                }
+            } catch (IllegalArgumentException e) {
+                // Not a token we issued
+            }
+            throw new IllegalArgumentException("Invalid page token for this search");
+        }
+
+        String encode() {
+            String value = "1|" + Long.toHexString(Double.doubleToLongBits(matchScore)) + "|" + queryFingerprint + "|" + employeeId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        boolean precedes(double score, String resultEmployeeId) {
+            return compareRank(matchScore, employeeId, score, resultEmployeeId) < 0;
+        }
+    }
+
+    /**
+     * The best {@code limit} results after a cursor, in page order. A bounded heap keeps the worst
+     * result kept at its head, so selecting from N candidates costs O(N log K), and callers check
+     * {@link #wouldKeep} or {@link #minScore} before they build or fully score a candidate.
+     */
+    static final class TopResults {
+        private final int limit;
+        private final PageCursor after;
+        private final PriorityQueue<SearchResult> heap = new PriorityQueue<>(RESULT_ORDER.reversed());
+
+        TopResults(int limit, PageCursor after) {
+            this.limit = limit;
+            this.after = after;
+        }
+
+        /**
+         * Score a candidate needs to be kept; 0.0 until the heap is full
+         */
+        double minScore() {
+            return heap.size() < limit ? 0.0 : score(heap.peek());
+        }
+
+        boolean wouldKeep(double score, String employeeId) {
+            if (after != null && !after.precedes(score, employeeId)) {
+                return false;
+            }
+            if (heap.size() < limit) {
+                return true;
+            }
+            SearchResult worst = heap.peek();
+            return compareRank(score, employeeId, score(worst), worst.getEmployeeId()) < 0;
+        }
+
+        void offer(SearchResult result) {
+            if (wouldKeep(score(result), result.getEmployeeId())) {
+                heap.add(result);
+                if (heap.size() > limit) {
+                    heap.poll();
+                }
+            }
+        }
+
+        List<SearchResult> sorted() {
+            List<SearchResult> results = new ArrayList<>(heap);
+            results.sort(RESULT_ORDER);
+            return results;
+        }
+    }
+
+    /**
+     * Matches of one precision: whether there were any, and the best of those passing the filters
+     */
+    private final class MatchCategory {
+        private final TopResults top;
+        private boolean matched;
+
+        MatchCategory(TopResults top) {
+            this.top = top;
+        }
+
+        void add(EmploymentRecordDto record, String matchType, double score, SearchRequest request) {
+            matched = true;
+            if (top.wouldKeep(score, record.getEmployeeId())) {
+                SearchResult result = SearchResult.fromEmploymentRecord(record, matchType, score);
+                if (matchesFilters(result, request)) {
+                    top.offer(result);
+                }
+            }
+        }
+    }
+
     @Autowired
-    public EmployeeSearchService(FabricGatewayService fabricGatewayService, ObjectMapper objectMapper) {
+    public EmployeeSearchService(FabricGatewayService fabricGatewayService,
+                                 EmploymentRecordIndexService recordIndexService,
+                                 LedgerScanner ledgerScanner,
+                                 ScanPlanner scanPlanner,
+                                 ObjectMapper objectMapper) {
         this.fabricGatewayService = fabricGatewayService;
+        this.recordIndexService = recordIndexService;
+        this.ledgerScanner = ledgerScanner;
+        this.scanPlanner = scanPlanner;
         this.objectMapper = objectMapper;
     }
 
     // ==================== PUBLIC API ====================
 
     /**
-     * Main search method - handles all search types
+     * Main search method - handles all search types. Returns one page of at most max_results;
+     * throws IllegalArgumentException for a page token not issued for these criteria.
      */
     public SearchResponse searchEmployees(SearchRequest searchRequest) {
         long startTime = System.currentTimeMillis();
+        SearchRequest request = normalize(searchRequest);
+        PageCursor after = PageCursor.decode(request.getPageToken(), queryFingerprint(request));
 
         try {
             logger.info("Searching employees with criteria: name='{}', employer='{}'",
                     searchRequest.getEmployeeName(), searchRequest.getEmployerId());
 
-            SearchResponse response = executeSearch(searchRequest);
+            SearchResponse response = cachedSearch(request, after, getSearchableRecords());
 
             response.setExecutionTimeMs(System.currentTimeMillis() - startTime);
             response.setSearchQuery(searchRequest);
 
-            logger.info("Search completed: {} results found in {} ms",
-                    response.getTotalResults(), response.getExecutionTimeMs());
+            logger.info("Search completed: {} results found in {} ms{}",
+                    response.getTotalResults(), response.getExecutionTimeMs(),
+                    Boolean.TRUE.equals(response.getCacheHit()) ? " (cached)" : "");
 
             return response;
 
@@ -56,36 +223,402 @@ public class EmployeeSearchService {
         }
     }
 
+    /**
+     * Search for employment verification. The request's employer name must resolve to a single
+     * employer by its exact name, ID or a configured alias; prefix and similar employer names,
+     * which {@link #searchEmployees} accepts, are never used here. An unknown employer gives a
+     * no-results response; throws AmbiguousEmployerException when the name fits several employers.
+     */
+    public SearchResponse verifyEmployment(SearchRequest searchRequest) {
+        long startTime = System.currentTimeMillis();
+        SearchRequest request = normalize(searchRequest);
+        EmploymentRecordIndex records = getSearchableRecords();
+
+        List<EmployerMatch> employers = records.employerDirectory().findExact(request.getEmployerName());
+        if (employers.size() > 1) {
+            throw new AmbiguousEmployerException("Employer '" + request.getEmployerName() + "' matches "
+                    + employers.stream().map(EmployerMatch::employerId).collect(Collectors.joining(", "))
+                    + " - verify by employer ID");
+        }
+
+        SearchResponse response;
+        if (employers.isEmpty()) {
+            response = SearchResponse.noResults(searchRequest);
+            response.addSearchTip("Employer '" + request.getEmployerName()
+                    + "' not found - verification needs the exact employer name, ID or a configured alias");
+        } else {
+            request.setEmployerName(null);
+            request.setEmployerId(employers.getFirst().employerId());
+            response = cachedSearch(request, null, records);
+        }
+
+        response.setExecutionTimeMs(System.currentTimeMillis() - startTime);
+        response.setSearchQuery(searchRequest);
+        return response;
+    }
+
+    /**
+     * Run many searches against one record source: the live index, or a single ledger scan
+     * shared by the whole batch while the index is not ready. Identical searches in a batch run
+     * once, and partial name-only searches, which each read every record, are scored together
+     * in one pass over the records. Responses are in request order; a search that fails gets a
+     * no-results response with the failure as a search tip, and does not fail the batch.
+     */
+    public BatchSearchResponse searchBatch(List<SearchRequest> searchRequests) {
+        long startTime = System.currentTimeMillis();
+        EmploymentRecordIndex records = getSearchableRecords();
+
+        Map<String, SearchResponse> answered = scanNameOnlySearches(searchRequests, records);
+        List<SearchResponse> responses = new ArrayList<>(searchRequests.size());
+        int withResults = 0;
+
+        for (SearchRequest searchRequest : searchRequests) {
+            long searchStartTime = System.currentTimeMillis();
+            SearchResponse response;
+
+            try {
+                if (searchRequest == null) {
+                    throw new IllegalArgumentException("Empty search");
+                }
+                SearchRequest request = normalize(searchRequest);
+                PageCursor after = PageCursor.decode(request.getPageToken(), queryFingerprint(request));
+
+                String key = cacheKey(request);
+                SearchResponse previous = answered.get(key);
+                if (previous != null) {
+                    response = SearchResponse.copyOf(previous);
+                } else {
+                    response = cachedSearch(request, after, records);
+                    answered.put(key, SearchResponse.copyOf(response));
+                }
+
+            } catch (Exception e) {
+                logger.debug("Search {} of batch failed: {}", responses.size() + 1, e.getMessage());
+                response = SearchResponse.noResults(searchRequest);
+                response.addSearchTip("Search failed: " + e.getMessage());
+            }
+
+            response.setExecutionTimeMs(System.currentTimeMillis() - searchStartTime);
+            response.setSearchQuery(searchRequest);
+            if (response.hasResults()) {
+                withResults++;
+            }
+            responses.add(response);
+        }
+
+        BatchSearchResponse batch = new BatchSearchResponse();
+        batch.setResults(responses);
+        batch.setTotalSearches(responses.size());
+        batch.setSearchesWithResults(withResults);
+        batch.setExecutionTimeMs(System.currentTimeMillis() - startTime);
+
+        logger.info("Batch search completed: {} searches ({} distinct), {} with results in {} ms",
+                responses.size(), answered.size(), withResults, batch.getExecutionTimeMs());
+        return batch;
+    }
+
+    /**
+     * Answer the batch's partial name-only searches with a single pass over the records, keyed
+     * like the batch's answers. Cached answers are reused; a search whose criteria or page token
+     * are invalid is left for the batch to fail.
+     */
+    private Map<String, SearchResponse> scanNameOnlySearches(List<SearchRequest> searchRequests,
+                                                             EmploymentRecordIndex records) {
+        Map<String, SearchResponse> answered = new HashMap<>();
+        boolean cacheable = isCacheable(records);
+        // Name-only searches have no employer, so they depend on the whole-index version
+        long version = records.version();
+
+        Map<String, NameScan> scans = new LinkedHashMap<>();
+        for (SearchRequest searchRequest : searchRequests) {
+            if (searchRequest == null) {
+                continue;
+            }
+            SearchRequest request = normalize(searchRequest);
+            String key = cacheKey(request);
+            if (!scansAllRecords(request) || answered.containsKey(key) || scans.containsKey(key)) {
+                continue;
+            }
+
+            PageCursor after;
+            try {
+                after = PageCursor.decode(request.getPageToken(), queryFingerprint(request));
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+
+            SearchResponse cached = cacheable ? cacheLookup(key, version) : null;
+            if (cached != null) {
+                answered.put(key, cached);
+            } else {
+                scans.put(key, new NameScan(request, after, new TopResults(request.getMaxResults() + 1, after)));
+            }
+        }
+
+        if (scans.isEmpty()) {
+            return answered;
+        }
+
+        for (EmploymentRecordDto record : records.all()) {
+            for (NameScan scan : scans.values()) {
+                offerByName(scan.request(), record, scan.top());
+            }
+        }
+
+        scans.forEach((key, scan) -> {
+            SearchResponse response = page(nameOnlyResponse(scan.request(), scan.top()), scan.request(), scan.after());
+            if (cacheable) {
+                response.setCacheHit(false);
+                cacheStore(key, version, response);
+            }
+            answered.put(key, SearchResponse.copyOf(response));
+        });
+
+        logger.debug("Scored {} name-only searches in one pass over {} records", scans.size(), records.size());
+        return answered;
+    }
+
+    /**
+     * Every result after the request's page token, in page order and without the max_results
+     * limit, as an NDJSON body: one result per line, then a summary line. Results are searched
+     * one page at a time from a keyset cursor, so memory is bounded by the page size rather than
+     * the result count. The page token is checked and the records chosen on the calling thread,
+     * so an invalid token fails here rather than in the stream.
+     */
+    public StreamingResponseBody prepareStream(SearchRequest searchRequest) {
+        long startTime = System.currentTimeMillis();
+        SearchRequest request = normalize(searchRequest);
+        String fingerprint = queryFingerprint(request);
+        PageCursor start = PageCursor.decode(request.getPageToken(), fingerprint);
+        EmploymentRecordIndex records = getSearchableRecords();
+
+        logger.info("Streaming search results for name='{}', employer='{}'",
+                request.getEmployeeName(), request.getEmployerId());
+
+        return out -> {
+            PageCursor after = start;
+            int written = 0;
+            while (true) {
+                TopResults top = new TopResults(STREAM_PAGE_SIZE, after);
+                SearchResponse response = executeSearch(request, records, after, STREAM_PAGE_SIZE);
+                if (response.getResults() != null) {
+                    response.getResults().forEach(top::offer);
+                }
+                List<SearchResult> page = top.sorted();
+
+                for (SearchResult result : page) {
+                    writeLine(out, result);
+                    if (++written % STREAM_FLUSH_INTERVAL == 0) {
+                        out.flush();
+                    }
+                }
+                if (page.size() < STREAM_PAGE_SIZE) {
+                    break;
+                }
+                after = PageCursor.after(page.getLast(), fingerprint);
+            }
+
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("status", "complete");
+            summary.put("total_results", written);
+            summary.put("elapsed_ms", System.currentTimeMillis() - startTime);
+            writeLine(out, summary);
+            out.flush();
+
+            logger.debug("Streamed {} search results in {} ms", written, System.currentTimeMillis() - startTime);
+        };
+    }
+
+    /**
+     * Employers whose name, ID or alias matches, best first. Throws IllegalStateException
+     * while the record index is not ready, since the directory is built with it.
+     */
+    public List<EmployerMatchDto> findEmployers(String employerName, int limit) {
+        if (!recordIndexService.isReady()) {
+            throw new IllegalStateException("Employer directory is not available until the record index is ready");
+        }
+
+        return recordIndexService.getIndex().employerDirectory().find(employerName, limit).stream()
+                .map(match -> {
+                    EmployerMatchDto dto = new EmployerMatchDto();
+                    dto.setEmployerId(match.employerId());
+                    dto.setEmployerName(match.employerName());
+                    dto.setMatchType(match.matchType());
+                    dto.setMatchScore(Math.round(match.score() * 1000) / 1000.0);
+                    return dto;
+                })
+                .collect(Collectors.toList());
+    }
+
+    public Map<String, Object> getCacheStatistics() {
+        long hitCount = cacheHits.get();
+        long missCount = cacheMisses.get();
+        long total = hitCount + missCount;
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", cacheEnabled);
+        synchronized (resultCache) {
+            stats.put("cached_searches", resultCache.size());
+        }
+        stats.put("max_entries", maxCacheEntries);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hit_ratio", total > 0 ? (double) hitCount / total : 0.0);
+        return stats;
+    }
+
+    // ==================== RESULT CACHE ====================
+
+    /**
+     * Serve a search from the result cache while the records it depends on are unchanged.
+     * Only live-index results are cached: a fallback ledger scan reads with the caller's identity.
+     */
+    private SearchResponse cachedSearch(SearchRequest request, PageCursor after, EmploymentRecordIndex records) {
+        if (!isCacheable(records)) {
+            return page(executeSearch(request, records, after, request.getMaxResults() + 1), request, after);
+        }
+
+        String key = cacheKey(request);
+
+        // Read before searching: a change made during the search leaves the entry already outdated
+        long version = hasValue(request.getEmployerId())
+                ? records.employerVersion(request.getEmployerId())
+                : records.version();
+
+        SearchResponse cached = cacheLookup(key, version);
+        if (cached != null) {
+            return cached;
+        }
+
+        SearchResponse response = page(executeSearch(request, records, after, request.getMaxResults() + 1), request, after);
+        response.setCacheHit(false);
+        cacheStore(key, version, response);
+        return response;
+    }
+
+    private boolean isCacheable(EmploymentRecordIndex records) {
+        return cacheEnabled && recordIndexService.isReady() && records == recordIndexService.getIndex();
+    }
+
+    /**
+     * Copy of the cached response for a key if it was computed at this version, otherwise null
+     */
+    private SearchResponse cacheLookup(String key, long version) {
+        synchronized (resultCache) {
+            CachedSearch cached = resultCache.get(key);
+            if (cached != null && cached.indexVersion() == version) {
+                cacheHits.incrementAndGet();
+                SearchResponse response = SearchResponse.copyOf(cached.response());
+                response.setCacheHit(true);
+                return response;
+            }
+        }
+        cacheMisses.incrementAndGet();
+        return null;
+    }
+
+    private void cacheStore(String key, long version, SearchResponse response) {
+        synchronized (resultCache) {
+            resultCache.put(key, new CachedSearch(SearchResponse.copyOf(response), version));
+            var iterator = resultCache.entrySet().iterator();
+            while (resultCache.size() > maxCacheEntries && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Copy of the request with values trimmed, blanks dropped and defaults applied, so that
+     * requests that search the same way also share a cache entry
+     */
+    private SearchRequest normalize(SearchRequest request) {
+        SearchRequest normalized = new SearchRequest();
+        normalized.setEmployeeName(trimToNull(request.getEmployeeName()));
+        normalized.setEmployerId(trimToNull(request.getEmployerId()));
+        normalized.setEmployerName(trimToNull(request.getEmployerName()));
+        normalized.setNationalId(trimToNull(request.getNationalId()));
+        normalized.setJobTitle(trimToNull(request.getJobTitle()));
+        normalized.setEmploymentStartDate(trimToNull(request.getEmploymentStartDate()));
+        normalized.setEmploymentEndDate(trimToNull(request.getEmploymentEndDate()));
+        normalized.setDateRangeStart(trimToNull(request.getDateRangeStart()));
+        normalized.setDateRangeEnd(trimToNull(request.getDateRangeEnd()));
+        normalized.setDepartment(trimToNull(request.getDepartment()));
+
+        String searchType = trimToNull(request.getSearchType());
+        normalized.setSearchType(searchType != null ? searchType.toLowerCase(Locale.ROOT) : "partial");
+        normalized.setMaxResults(request.getMaxResults() != null ? Math.clamp(request.getMaxResults(), 1, Integer.MAX_VALUE - 1) : 10);
+        normalized.setIncludeSimilar(request.getIncludeSimilar() == null || request.getIncludeSimilar());
+        normalized.setPageToken(trimToNull(request.getPageToken()));
+        return normalized;
+    }
+
+    private String cacheKey(SearchRequest request) {
+        return String.join("\u0001", criteriaKey(request),
+                String.valueOf(request.getMaxResults()), String.valueOf(request.getPageToken()));
+    }
+
+    private String queryFingerprint(SearchRequest request) {
+        return Integer.toHexString(criteriaKey(request).hashCode());
+    }
+
+    /**
+     * Search criteria of a normalized request. Names, employer and filters match case-insensitively and
+     * are lowercased; the national ID keeps its case because its last-4 match is case-sensitive.
+     */
+    private String criteriaKey(SearchRequest request) {
+        return String.join("\u0001",
+                lowerCase(request.getEmployeeName()),
+                lowerCase(request.getEmployerId()),
+                lowerCase(request.getEmployerName()),
+                String.valueOf(request.getNationalId()),
+                lowerCase(request.getJobTitle()),
+                String.valueOf(request.getEmploymentStartDate()),
+                String.valueOf(request.getEmploymentEndDate()),
+                String.valueOf(request.getDateRangeStart()),
+                String.valueOf(request.getDateRangeEnd()),
+                lowerCase(request.getDepartment()),
+                request.getSearchType(),
+                String.valueOf(request.getIncludeSimilar()));
+    }
+
     // ==================== SEARCH STRATEGY EXECUTION ====================
 
     /**
-     * Execute search based on available criteria - determines optimal search strategy
+     * Execute search based on available criteria - determines optimal search strategy.
+     * Every strategy returns only the best {@code limit} results after the cursor.
      */
-    private SearchResponse executeSearch(SearchRequest request) {
+    private SearchResponse executeSearch(SearchRequest request, EmploymentRecordIndex records,
+                                         PageCursor after, int limit) {
         // Strategy 1: National ID + Employer (highest precision)
         if (hasValue(request.getNationalId()) && hasValue(request.getEmployerId())) {
-            return searchByNationalIdAndEmployer(request);
+            return searchByNationalIdAndEmployer(request, records, new TopResults(limit, after));
         }
 
         // Strategy 2: Composite key (Name + Employer + Dates) - most precise for name-based searches
         if (hasValue(request.getEmployeeName()) && hasValue(request.getEmployerId())
                 && hasValue(request.getEmploymentStartDate())) {
-            return searchByCompositeKey(request);
+            return searchByCompositeKey(request, records, new TopResults(limit, after));
         }
 
         // Strategy 3: Name + Employer (common case)
         if (hasValue(request.getEmployeeName()) && hasValue(request.getEmployerId())) {
-            return searchByNameAndEmployer(request);
+            return searchByNameAndEmployer(request, records, after, limit);
         }
 
-        // Strategy 4: Name only (broadest search)
+        // Strategy 4: Employer name - resolve to employer IDs and search each employer's records
+        if (hasValue(request.getEmployerName())) {
+            return searchByEmployerName(request, records, after, limit);
+        }
+
+        // Strategy 5: Name only (broadest search)
         if (hasValue(request.getEmployeeName())) {
-            return searchByNameOnly(request);
+            return searchByNameOnly(request, records, new TopResults(limit, after));
         }
 
-        // Strategy 5: Employer only
+        // Strategy 6: Employer only
         if (hasValue(request.getEmployerId())) {
-            return searchByEmployerOnly(request);
+            return searchByEmployerOnly(request, records, new TopResults(limit, after));
         }
 
         // No valid search criteria
@@ -94,23 +627,35 @@ public class EmployeeSearchService {
         return response;
     }
 
+    /**
+     * Whether executeSearch runs a name-only search that reads every record, i.e. a partial one
+     */
+    private boolean scansAllRecords(SearchRequest request) {
+        return hasValue(request.getEmployeeName())
+                && !hasValue(request.getEmployerId())
+                && !hasValue(request.getEmployerName())
+                && !"exact".equals(request.getSearchType())
+                && !"fuzzy".equals(request.getSearchType());
+    }
+
     // ==================== SEARCH IMPLEMENTATIONS ====================
 
     /**
      * Search by National ID + Employer (highest precision)
      */
-    private SearchResponse searchByNationalIdAndEmployer(SearchRequest request) {
+    private SearchResponse searchByNationalIdAndEmployer(SearchRequest request, EmploymentRecordIndex records,
+                                                         TopResults top) {
         logger.debug("Executing national ID + employer search");
 
-        List<EmploymentRecordDto> allRecords = getAllEmploymentRecords();
-
-        List<SearchResult> results = allRecords.stream()
-                .filter(record -> matchesNationalId(record, request.getNationalId()))
-                .filter(record -> matchesEmployer(record, request.getEmployerId()))
-                .map(record -> SearchResult.fromEmploymentRecordWithNationalId(record, "exact", 1.0))
-                .collect(Collectors.toList());
+        List<EmploymentRecordDto> matches = records.findByNationalIdMatch(request.getNationalId(), request.getEmployerId());
+        for (EmploymentRecordDto record : matches) {
+            if (top.wouldKeep(1.0, record.getEmployeeId())) {
+                top.offer(SearchResult.fromEmploymentRecordWithNationalId(record, "exact", 1.0));
+            }
+        }
+        List<SearchResult> results = top.sorted();
 
-        logger.info("National ID search found {} matching records", results.size());
+        logger.info("National ID search found {} matching records", matches.size());
 
         if (results.isEmpty()) {
             SearchResponse response = SearchResponse.noResults(request);
@@ -133,19 +678,22 @@ public class EmployeeSearchService {
     /**
      * Search by composite key (Name + Employer + Employment dates)
      */
-    private SearchResponse searchByCompositeKey(SearchRequest request) {
+    private SearchResponse searchByCompositeKey(SearchRequest request, EmploymentRecordIndex records, TopResults top) {
         logger.debug("Executing composite key search");
 
-        List<EmploymentRecordDto> allRecords = getAllEmploymentRecords();
-
-        List<SearchResult> results = allRecords.stream()
-                .filter(record -> matchesName(record, request.getEmployeeName(), "exact"))
-                .filter(record -> matchesEmployer(record, request.getEmployerId()))
-                .filter(record -> matchesEmploymentDates(record, request.getEmploymentStartDate(), request.getEmploymentEndDate()))
-                .map(record -> SearchResult.fromEmploymentRecord(record, "exact", 1.0))
-                .collect(Collectors.toList());
+        int matches = 0;
+        for (EmploymentRecordDto record : records.findByName(request.getEmployeeName())) {
+            if (matchesEmployer(record, request.getEmployerId())
+                    && matchesEmploymentDates(record, request.getEmploymentStartDate(), request.getEmploymentEndDate())) {
+                matches++;
+                if (top.wouldKeep(1.0, record.getEmployeeId())) {
+                    top.offer(SearchResult.fromEmploymentRecord(record, "exact", 1.0));
+                }
+            }
+        }
+        List<SearchResult> results = top.sorted();
 
-        logger.info("Composite key search found {} matching records", results.size());
+        logger.info("Composite key search found {} matching records", matches);
 
         if (results.isEmpty()) {
             SearchResponse response = SearchResponse.noResults(request);
@@ -160,245 +708,200 @@ public class EmployeeSearchService {
     }
 
     /**
-     * Search by Name + Employer (common case for ex-employee verification)
+     * Search by Name + Employer (common case for ex-employee verification). The best match category
+     * is chosen by whether it has any match, before filters; each category keeps only its best results.
      */
-    private SearchResponse searchByNameAndEmployer(SearchRequest request) {
+    private SearchResponse searchByNameAndEmployer(SearchRequest request, EmploymentRecordIndex records,
+                                                   PageCursor after, int limit) {
         logger.debug("Executing name + employer search");
 
-        List<EmploymentRecordDto> allRecords = getAllEmploymentRecords();
         String searchType = request.getSearchType() != null ? request.getSearchType() : "partial";
 
-        List<SearchResult> exactMatches = new ArrayList<>();
-        List<SearchResult> partialMatches = new ArrayList<>();
-        List<SearchResult> fuzzyMatches = new ArrayList<>();
+        MatchCategory exactMatches = new MatchCategory(new TopResults(limit, after));
+        MatchCategory partialMatches = new MatchCategory(new TopResults(limit, after));
+        MatchCategory fuzzyMatches = new MatchCategory(new TopResults(limit, after));
 
-        // Categorize matches by precision
-        for (EmploymentRecordDto record : allRecords) {
-            if (!matchesEmployer(record, request.getEmployerId())) {
-                continue;
-            }
+        List<EmploymentRecordDto> employerRecords = records.findByEmployer(request.getEmployerId());
+        Set<String> fuzzyCandidateIds = request.getIncludeSimilar()
+                ? fuzzyCandidateIds(records, request.getEmployeeName(), employerRecords.size())
+                : null;
 
+        // Categorize matches by precision
+        for (EmploymentRecordDto record : employerRecords) {
             if (matchesName(record, request.getEmployeeName(), "exact")) {
-                exactMatches.add(SearchResult.fromEmploymentRecord(record, "exact", 1.0));
+                exactMatches.add(record, "exact", 1.0, request);
             } else if (matchesName(record, request.getEmployeeName(), "partial")) {
-                partialMatches.add(SearchResult.fromEmploymentRecord(record, "partial", 0.8));
-            } else if (request.getIncludeSimilar() && matchesName(record, request.getEmployeeName(), "fuzzy")) {
-                double similarity = calculateNameSimilarity(
-                        request.getEmployeeName().toLowerCase(),
-                        record.getEmployeeName().getFullName().toLowerCase()
-                );
-                fuzzyMatches.add(SearchResult.fromEmploymentRecord(record, "fuzzy", similarity));
+                partialMatches.add(record, "partial", 0.8, request);
+            } else if (request.getIncludeSimilar()
+                    && (fuzzyCandidateIds == null || fuzzyCandidateIds.contains(record.getEmployeeId()))) {
+                double similarity = calculateMatchScore(record, request.getEmployeeName(), FUZZY_MATCH_THRESHOLD);
+                if (similarity >= FUZZY_MATCH_THRESHOLD) {
+                    fuzzyMatches.add(record, "fuzzy", similarity, request);
+                }
             }
         }
 
         // Select best match category based on search type
         List<SearchResult> finalResults = selectBestMatches(exactMatches, partialMatches, fuzzyMatches, searchType);
 
-        // Apply additional filters and limit results
-        finalResults = applyAdditionalFilters(finalResults, request);
-        finalResults = limitResults(finalResults, request.getMaxResults());
-
         return buildSearchResponse(finalResults, request, "Try using partial matching or check name spelling");
     }
 
     /**
-     * Search by name only (broadest search)
+     * Search by name only (broadest search). Only the best results for the page are kept, and a
+     * candidate is scored no further than needed to tell whether it beats the worst of them.
      */
-    private SearchResponse searchByNameOnly(SearchRequest request) {
+    private SearchResponse searchByNameOnly(SearchRequest request, EmploymentRecordIndex records, TopResults top) {
         logger.debug("Executing name-only search");
 
-        List<EmploymentRecordDto> allRecords = getAllEmploymentRecords();
-
-        List<SearchResult> results = allRecords.stream()
-                .filter(record -> matchesName(record, request.getEmployeeName(), request.getSearchType()))
-                .map(record -> {
-                    String matchType = getNameMatchType(record, request.getEmployeeName());
-                    double score = calculateMatchScore(record, request.getEmployeeName());
-                    return SearchResult.fromEmploymentRecord(record, matchType, score);
-                })
-                .sorted((r1, r2) -> Double.compare(r2.getMatchScore(), r1.getMatchScore()))
-                .limit(request.getMaxResults())
-                .collect(Collectors.toList());
+        String searchName = request.getEmployeeName();
+        String searchType = request.getSearchType();
+        Collection<EmploymentRecordDto> candidates = switch (String.valueOf(searchType)) {
+            case "exact" -> records.findByName(searchName);
+            case "fuzzy" -> records.findByNameSimilarTo(searchName, FUZZY_MATCH_THRESHOLD);
+            default -> records.all();
+        };
 
-        if (results.isEmpty()) {
-            return SearchResponse.noResults(request);
-        } else {
-            SearchResponse response = SearchResponse.multipleResults(results, request);
-            response.addSearchTip("Consider adding employer filter for more precise results");
-            return response;
+        for (EmploymentRecordDto record : candidates) {
+            offerByName(request, record, top);
         }
+
+        return nameOnlyResponse(request, top);
     }
 
     /**
-     * Search by employer only
+     * Score a record against a name-only search and offer it to the search's best results
      */
-    private SearchResponse searchByEmployerOnly(SearchRequest request) {
-        logger.debug("Executing employer-only search");
+    private void offerByName(SearchRequest request, EmploymentRecordDto record, TopResults top) {
+        String searchName = request.getEmployeeName();
+        String searchType = request.getSearchType();
+
+        double score;
+        if ("fuzzy".equals(searchType)) {
+            score = calculateMatchScore(record, searchName, Math.max(FUZZY_MATCH_THRESHOLD, top.minScore()));
+            if (score < FUZZY_MATCH_THRESHOLD) {
+                return;
+            }
+        } else {
+            if (!matchesName(record, searchName, searchType)) {
+                return;
+            }
+            score = calculateMatchScore(record, searchName, top.minScore());
+        }
 
-        List<EmploymentRecordDto> allRecords = getAllEmploymentRecords();
+        if (top.wouldKeep(score, record.getEmployeeId())) {
+            top.offer(SearchResult.fromEmploymentRecord(record, getNameMatchType(record, searchName), score));
+        }
+    }
 
-        List<SearchResult> results = allRecords.stream()
-                .filter(record -> matchesEmployer(record, request.getEmployerId()))
-                .map(record -> SearchResult.fromEmploymentRecord(record, "exact", 1.0))
-                .limit(request.getMaxResults())
-                .collect(Collectors.toList());
+    private SearchResponse nameOnlyResponse(SearchRequest request, TopResults top) {
+        List<SearchResult> results = top.sorted();
 
         if (results.isEmpty()) {
             return SearchResponse.noResults(request);
         } else {
             SearchResponse response = SearchResponse.multipleResults(results, request);
-            response.addSearchTip("All employees for this employer - add name filter to narrow results");
+            response.addSearchTip("Consider adding employer filter for more precise results");
             return response;
         }
     }
 
-    // ==================== DATA RETRIEVAL ====================
-
     /**
-     * Get all employment records from blockchain
+     * Search by employer name: look the name up in the employer directory, then run the
+     * employer-scoped search for each employer it resolves to
      */
-    private List<EmploymentRecordDto> getAllEmploymentRecords() {
-        List<EmploymentRecordDto> records = new ArrayList<>();
-
-        try {
-            int currentYear = Calendar.getInstance().get(Calendar.YEAR);
-
-            // Scan current year records
-            records.addAll(getRecordsForYear(currentYear));
-
-            // Also check previous year records
-            records.addAll(getRecordsForYear(currentYear - 1));
+    private SearchResponse searchByEmployerName(SearchRequest request, EmploymentRecordIndex records,
+                                                PageCursor after, int limit) {
+        logger.debug("Executing employer name search");
 
-        } catch (Exception e) {
-            logger.error("Error retrieving employment records for search", e);
+        List<EmployerMatch> employers = records.employerDirectory().find(request.getEmployerName(), MAX_RESOLVED_EMPLOYERS);
+        if (employers.isEmpty()) {
+            SearchResponse response = SearchResponse.noResults(request);
+            response.addSearchTip("Employer '" + request.getEmployerName()
+                    + "' not found - check the spelling or search by employer ID");
+            return response;
         }
 
-        logger.debug("Retrieved {} total employment records", records.size());
-        return records;
-    }
-
-    /**
-     * Get records for a specific year
-     */
-    private List<EmploymentRecordDto> getRecordsForYear(int year) {
-        List<EmploymentRecordDto> records = new ArrayList<>();
-        int totalRecords = getTotalRecordsCount(year);
-
-        logger.debug("Scanning {} records for year {}", totalRecords, year);
-
-        for (int counter = 1; counter <= totalRecords; counter++) {
-            String employeeId = String.format("EMP-%d-%06d", year, counter);
-
-            try {
-                String result = fabricGatewayService.evaluateTransaction("getRecord", employeeId);
-                EmploymentRecordDto record = objectMapper.readValue(result, EmploymentRecordDto.class);
-                records.add(record);
-            } catch (Exception e) {
-                // Record not found - continue to next
-                logger.trace("Record {} not found, continuing", employeeId);
+        List<SearchResult> results = new ArrayList<>();
+        SearchResponse scopedResponse = null;
+        for (EmployerMatch employer : employers) {
+            SearchRequest scoped = normalize(request);
+            scoped.setEmployerId(employer.employerId());
+            scopedResponse = executeSearch(scoped, records, after, limit);
+            if (scopedResponse.getResults() != null) {
+                results.addAll(scopedResponse.getResults());
             }
         }
 
-        return records;
+        logger.info("Employer name '{}' resolved to {} employer(s), {} matching records",
+                request.getEmployerName(), employers.size(), results.size());
+
+        // A single employer keeps the scoped search's own tips
+        SearchResponse response = employers.size() == 1
+                ? scopedResponse
+                : buildSearchResponse(results, request, "No matching records at the employers found for '"
+                        + request.getEmployerName() + "'");
+        if (employers.size() > 1 || !EmployerDirectory.EXACT.equals(employers.getFirst().matchType())) {
+            response.addSearchTip("Employer '" + request.getEmployerName() + "' matched " + employers.stream()
+                    .map(employer -> employer.employerName() != null
+                            ? employer.employerName() + " (" + employer.employerId() + ")"
+                            : employer.employerId())
+                    .collect(Collectors.joining(", ")) + " - search by employer ID to narrow results");
+        }
+        return response;
     }
 
     /**
-     * Get total records count from system counter
+     * Search by employer only
      */
-    private int getTotalRecordsCount(int year) {
-        try {
-            String counterResult = fabricGatewayService.evaluateTransaction("getEmployeeCounter", String.valueOf(year));
+    private SearchResponse searchByEmployerOnly(SearchRequest request, EmploymentRecordIndex records, TopResults top) {
+        logger.debug("Executing employer-only search");
 
-            if (counterResult != null && !counterResult.trim().isEmpty()) {
-                JsonNode counterJson = objectMapper.readTree(counterResult);
-                return counterJson.get("current_counter").asInt();
+        for (EmploymentRecordDto record : records.findByEmployer(request.getEmployerId())) {
+            if (top.wouldKeep(1.0, record.getEmployeeId())) {
+                top.offer(SearchResult.fromEmploymentRecord(record, "exact", 1.0));
             }
-        } catch (Exception e) {
-            logger.warn("Could not get system counter for year {}: {}", year, e.getMessage());
         }
+        List<SearchResult> results = top.sorted();
 
-        return 0;
+        if (results.isEmpty()) {
+            return SearchResponse.noResults(request);
+        } else {
+            SearchResponse response = SearchResponse.multipleResults(results, request);
+            response.addSearchTip("All employees for this employer - add name filter to narrow results");
+            return response;
+        }
     }
 
-    // ==================== MATCHING LOGIC ====================
+    // ==================== DATA RETRIEVAL ====================
 
     /**
-     * Check if record matches the provided national ID
-     * Supports exact match, partial match (last 4 digits), and format variations
+     * Records to search: the live index when it is ready, otherwise a one-off index
+     * built from a ledger scan so every strategy runs the same lookups either way
      */
-    private boolean matchesNationalId(EmploymentRecordDto record, String searchNationalId) {
-        // Validate inputs
-        if (searchNationalId == null || searchNationalId.trim().isEmpty()) {
-            logger.debug("Search national ID is null or empty");
-            return false;
-        }
-
-        // Check if record has employee name
-        if (record.getEmployeeName() == null) {
-            logger.debug("Record has no employee name information");
-            return false;
-        }
-
-        // Check if employee name has national ID
-        if (record.getEmployeeName().getNationalId() == null ||
-                record.getEmployeeName().getNationalId().trim().isEmpty()) {
-            logger.debug("Record has no national ID information");
-            return false;
-        }
-
-        // Get the national ID from the correct path: EmploymentRecordDto -> NameInfoDto -> nationalId
-        String recordNationalId = record.getEmployeeName().getNationalId().trim();
-        String cleanSearchId = searchNationalId.trim();
-
-        logger.debug("Comparing national IDs: record='{}', search='{}'",
-                maskNationalId(recordNationalId), maskNationalId(cleanSearchId));
-
-        // 1. Exact match (case insensitive)
-        if (recordNationalId.equalsIgnoreCase(cleanSearchId)) {
-            logger.debug("Exact national ID match found");
-            return true;
-        }
-
-        // 2. Last 4 digits match (for privacy-friendly searches)
-        if (cleanSearchId.length() == 4 && recordNationalId.length() >= 4) {
-            String recordLast4 = recordNationalId.substring(recordNationalId.length() - 4);
-            if (recordLast4.equals(cleanSearchId)) {
-                logger.debug("Last 4 digits national ID match found");
-                return true;
-            }
+    private EmploymentRecordIndex getSearchableRecords() {
+        if (recordIndexService.isReady()) {
+            return recordIndexService.getIndex();
         }
 
-        // 3. Ghana format matching: GHA-XXXXXXXXX-X
-        if (cleanSearchId.toUpperCase().startsWith("GHA-") &&
-                recordNationalId.toUpperCase().startsWith("GHA-")) {
-            if (recordNationalId.equalsIgnoreCase(cleanSearchId)) {
-                logger.debug("Ghana format national ID match found");
-                return true;
-            }
-        }
+        logger.debug("Record index not ready, scanning ledger for search");
+        EmploymentRecordIndex scanned = new EmploymentRecordIndex();
 
-        // 4. Numeric-only comparison (remove all non-digits)
-        String recordNumeric = recordNationalId.replaceAll("[^0-9]", "");
-        String searchNumeric = cleanSearchId.replaceAll("[^0-9]", "");
-
-        if (!recordNumeric.isEmpty() && !searchNumeric.isEmpty()) {
-            // Full numeric match
-            if (recordNumeric.equals(searchNumeric)) {
-                logger.debug("Numeric national ID match found");
-                return true;
-            }
+        try {
+            // Every year with records, streamed straight into the one-off index
+            String apiKey = fabricGatewayService.getCurrentApiKey();
+            ledgerScanner.scan(apiKey, scanPlanner.planAll(apiKey), scanned::put);
 
-            // Partial numeric match (search term is suffix of record)
-            if (searchNumeric.length() >= 4 && recordNumeric.endsWith(searchNumeric)) {
-                logger.debug("Partial numeric national ID match found");
-                return true;
-            }
+        } catch (Exception e) {
+            logger.error("Error retrieving employment records for search", e);
         }
 
-        logger.debug("No national ID match found");
-        return false;
+        logger.debug("Retrieved {} total employment records", scanned.size());
+        return scanned;
     }
 
+    // ==================== MATCHING LOGIC ====================
+
     private boolean matchesEmployer(EmploymentRecordDto record, String employerId) {
         if (employerId == null || record.getEmployerId() == null) {
             return false;
@@ -417,7 +920,7 @@ public class EmployeeSearchService {
         return switch (matchType) {
             case "exact" -> recordName.equals(queryName);
             case "partial" -> recordName.contains(queryName) || queryName.contains(recordName);
-            case "fuzzy" -> calculateNameSimilarity(recordName, queryName) >= FUZZY_MATCH_THRESHOLD;
+            case "fuzzy" -> NameSimilarity.similarity(recordName, queryName, FUZZY_MATCH_THRESHOLD) >= FUZZY_MATCH_THRESHOLD;
             default -> recordName.contains(queryName);
         };
     }
@@ -445,36 +948,25 @@ public class EmployeeSearchService {
 
     // ==================== FILTERING AND PROCESSING ====================
 
-    private List<SearchResult> selectBestMatches(List<SearchResult> exactMatches,
-                                                 List<SearchResult> partialMatches,
-                                                 List<SearchResult> fuzzyMatches,
+    private List<SearchResult> selectBestMatches(MatchCategory exactMatches,
+                                                 MatchCategory partialMatches,
+                                                 MatchCategory fuzzyMatches,
                                                  String searchType) {
-        List<SearchResult> finalResults = new ArrayList<>();
-
-        if (!exactMatches.isEmpty()) {
-            finalResults.addAll(exactMatches);
-        } else if (!partialMatches.isEmpty() && !searchType.equals("exact")) {
-            finalResults.addAll(partialMatches);
-        } else if (!fuzzyMatches.isEmpty() && searchType.equals("fuzzy")) {
-            finalResults.addAll(fuzzyMatches);
+        if (exactMatches.matched) {
+            return exactMatches.top.sorted();
+        } else if (partialMatches.matched && !searchType.equals("exact")) {
+            return partialMatches.top.sorted();
+        } else if (fuzzyMatches.matched && searchType.equals("fuzzy")) {
+            return fuzzyMatches.top.sorted();
         }
 
-        return finalResults;
+        return new ArrayList<>();
     }
 
-    private List<SearchResult> applyAdditionalFilters(List<SearchResult> results, SearchRequest request) {
-        return results.stream()
-                .filter(result -> matchesJobTitle(result, request.getJobTitle()))
-                .filter(result -> matchesDepartment(result, request.getDepartment()))
-                .filter(result -> matchesDateRange(result, request.getDateRangeStart(), request.getDateRangeEnd()))
-                .collect(Collectors.toList());
-    }
-
-    private List<SearchResult> limitResults(List<SearchResult> results, int maxResults) {
-        if (results.size() > maxResults) {
-            return results.subList(0, maxResults);
-        }
-        return results;
+    private boolean matchesFilters(SearchResult result, SearchRequest request) {
+        return matchesJobTitle(result, request.getJobTitle())
+                && matchesDepartment(result, request.getDepartment())
+                && matchesDateRange(result, request.getDateRangeStart(), request.getDateRangeEnd());
     }
 
     private boolean matchesJobTitle(SearchResult result, String jobTitle) {
@@ -494,9 +986,32 @@ public class EmployeeSearchService {
         return true;
     }
 
+    /**
+     * Cut a strategy's results down to the page after the cursor and fill in the paging fields
+     */
+    private SearchResponse page(SearchResponse response, SearchRequest request, PageCursor after) {
+        int pageSize = request.getMaxResults();
+        TopResults top = new TopResults(pageSize + 1, after);
+        if (response.getResults() != null) {
+            response.getResults().forEach(top::offer);
+        }
+        List<SearchResult> page = top.sorted();
+
+        boolean hasMore = page.size() > pageSize;
+        if (hasMore) {
+            page.removeLast();
+        }
+
+        response.setResults(page);
+        response.setTotalResults(page.size());
+        response.setHasMoreResults(hasMore);
+        response.setNextPageToken(hasMore ? PageCursor.after(page.getLast(), queryFingerprint(request)).encode() : null);
+        return response;
+    }
+
     // ==================== UTILITY METHODS ====================
 
-    private SearchResponse buildSearchResponse(List<SearchResult> results, SearchRequest request, @SuppressWarnings("SameParameterValue") String noResultsTip) {
+    private SearchResponse buildSearchResponse(List<SearchResult> results, SearchRequest request, String noResultsTip) {
         if (results.isEmpty()) {
             SearchResponse response = SearchResponse.noResults(request);
             response.addSearchTip(noResultsTip);
@@ -514,52 +1029,64 @@ public class EmployeeSearchService {
         return "fuzzy";
     }
 
-    private double calculateMatchScore(EmploymentRecordDto record, String searchName) {
-        if (record.getEmployeeName() == null || record.getEmployeeName().getFullName() == null) {
-            return 0.0;
+    /**
+     * IDs of records that can reach the fuzzy threshold, or null when the employer's
+     * records are few enough to compare directly
+     */
+    private Set<String> fuzzyCandidateIds(EmploymentRecordIndex records, String searchName, int employerRecordCount) {
+        if (employerRecordCount < FUZZY_INDEX_MIN_CANDIDATES) {
+            return null;
         }
 
-        return calculateNameSimilarity(
-                record.getEmployeeName().getFullName().toLowerCase(),
-                searchName.toLowerCase()
-        );
+        return records.findByNameSimilarTo(searchName, FUZZY_MATCH_THRESHOLD).stream()
+                .map(EmploymentRecordDto::getEmployeeId)
+                .collect(Collectors.toSet());
     }
 
-    private String maskNationalId(String nationalId) {
-        if (nationalId == null || nationalId.length() < 4) {
-            return "****";
+    /**
+     * Name similarity between a record and the query, or 0.0 when it is below minScore
+     */
+    private double calculateMatchScore(EmploymentRecordDto record, String searchName, double minScore) {
+        if (searchName == null || record.getEmployeeName() == null || record.getEmployeeName().getFullName() == null) {
+            return 0.0;
         }
-        return "****" + nationalId.substring(nationalId.length() - 4);
-    }
-
-    private double calculateNameSimilarity(String name1, String name2) {
-        if (name1 == null || name2 == null) return 0.0;
-        if (name1.equals(name2)) return 1.0;
-
-        int maxLength = Math.max(name1.length(), name2.length());
-        if (maxLength == 0) return 1.0;
 
-        int distance = levenshteinDistance(name1, name2);
-        return 1.0 - (double) distance / maxLength;
+        return NameSimilarity.similarity(
+                record.getEmployeeName().getFullName().toLowerCase().trim(),
+                searchName.toLowerCase().trim(),
+                minScore
+        );
     }
 
-    private int levenshteinDistance(String s1, String s2) {
-        int[][] dp = new int[s1.length() + 1][s2.length() + 1];
-
-        for (int i = 0; i <= s1.length(); i++) dp[i][0] = i;
-        for (int j = 0; j <= s2.length(); j++) dp[0][j] = j;
+    private static double score(SearchResult result) {
+        return result.getMatchScore() != null ? result.getMatchScore() : 0.0;
+    }
 
-        for (int i = 1; i <= s1.length(); i++) {
-            for (int j = 1; j <= s2.length(); j++) {
-                int cost = (s1.charAt(i - 1) == s2.charAt(j - 1)) ? 0 : 1;
-                dp[i][j] = Math.min(Math.min(dp[i - 1][j] + 1, dp[i][j - 1] + 1), dp[i - 1][j - 1] + cost);
-            }
+    /**
+     * Page order of two results: higher score first, then employee ID ascending
+     */
+    private static int compareRank(double scoreA, String employeeIdA, double scoreB, String employeeIdB) {
+        int byScore = Double.compare(scoreB, scoreA);
+        if (byScore != 0) {
+            return byScore;
         }
-
-        return dp[s1.length()][s2.length()];
+        return Objects.compare(employeeIdA, employeeIdB, Comparator.nullsLast(Comparator.naturalOrder()));
     }
 
     private boolean hasValue(String value) {
         return value != null && !value.trim().isEmpty();
     }
+
+    private void writeLine(OutputStream out, Object value) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(value));
+        out.write('\n');
+    }
+
+    private String trimToNull(String value) {
+        return hasValue(value) ? value.trim() : null;
+    }
+
+    private String lowerCase(String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : "";
+    }
 }
\ No newline at end of file
@@ -0,0 +1,226 @@
+package com.empverify.service;
+
+import com.empverify.dto.EmploymentRecordDto;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Employers seen in the record index, looked up by name. Every employer name on a record, the
+ * employer ID itself and configured aliases are reduced to a name key (lowercase, letters and
+ * digits only, legal suffixes such as "Ltd" dropped) that maps to employer IDs. Keys from records
+ * are reference-counted by employee, so a name disappears with the last record that carries it.
+ * Maintained by {@link EmploymentRecordIndex} under its write lock; lookups never block.
+ */
+public class EmployerDirectory {
+
+    public static final String EXACT = "exact";
+    public static final String ALIAS = "alias";
+    public static final String PREFIX = "prefix";
+    public static final String FUZZY = "fuzzy";
+
+    private static final double FUZZY_MIN_SCORE = 0.8;
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+    private static final Set<String> LEGAL_SUFFIXES = Set.of(
+            "ltd", "limited", "inc", "incorporated", "plc", "llc", "llp", "co", "company", "corp", "corporation");
+
+    // Name key -> employer ID -> employee IDs whose record carries that key
+    private final ConcurrentSkipListMap<String, ConcurrentHashMap<String, Set<String>>> employersByKey = new ConcurrentSkipListMap<>();
+
+    // Employer ID -> latest employer name seen on a record
+    private final ConcurrentHashMap<String, String> displayNames = new ConcurrentHashMap<>();
+
+    // Configured alias key -> employer ID; kept when the index is cleared
+    private final ConcurrentHashMap<String, String> aliases = new ConcurrentHashMap<>();
+
+    /**
+     * An employer found for a name, with how it matched and a score in [0, 1]
+     */
+    public record EmployerMatch(String employerId, String employerName, String matchType, double score) {
+    }
+
+    // ==================== MAINTENANCE ====================
+
+    /**
+     * Replace a record's previous keys with its current ones; either record may be null
+     */
+    void update(EmploymentRecordDto previous, EmploymentRecordDto current) {
+        Set<String> currentKeys = current != null ? keys(current) : Set.of();
+        if (current != null && current.getEmployerId() != null) {
+            for (String key : currentKeys) {
+                employersByKey.computeIfAbsent(key, k -> new ConcurrentHashMap<>())
+                        .computeIfAbsent(current.getEmployerId(), k -> ConcurrentHashMap.newKeySet())
+                        .add(current.getEmployeeId());
+            }
+            if (current.getEmployerName() != null && !current.getEmployerName().isBlank()) {
+                displayNames.put(current.getEmployerId(), current.getEmployerName().trim());
+            }
+        }
+
+        if (previous != null && previous.getEmployerId() != null) {
+            boolean sameEmployer = current != null && Objects.equals(previous.getEmployerId(), current.getEmployerId());
+            for (String key : keys(previous)) {
+                if (!sameEmployer || !currentKeys.contains(key)) {
+                    removeKey(key, previous.getEmployerId(), previous.getEmployeeId());
+                }
+            }
+        }
+    }
+
+    void clear() {
+        employersByKey.clear();
+        displayNames.clear();
+    }
+
+    /**
+     * Make another name resolve to an employer, e.g. a former or trading name
+     */
+    public void addAlias(String alias, String employerId) {
+        String key = nameKey(alias);
+        if (!key.isEmpty() && employerId != null && !employerId.isBlank()) {
+            aliases.put(key, employerId.trim());
+        }
+    }
+
+    // ==================== LOOKUPS ====================
+
+    /**
+     * Employers for a name or employer ID, best first and at most limit of them. An exact or
+     * alias match is returned alone; otherwise employers whose name starts with the query
+     * and employers with a similar name are returned together.
+     */
+    public List<EmployerMatch> find(String name, int limit) {
+        String query = nameKey(name);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, EmployerMatch> matches = new LinkedHashMap<>();
+        addExactMatches(matches, query);
+
+        if (matches.isEmpty()) {
+            for (Map.Entry<String, ConcurrentHashMap<String, Set<String>>> entry
+                    : employersByKey.subMap(query, true, query + Character.MAX_VALUE, true).entrySet()) {
+                double score = (double) query.length() / entry.getKey().length();
+                entry.getValue().keySet().forEach(employerId -> addMatch(matches, employerId, PREFIX, score));
+            }
+
+            // Employers are few compared to records, so a bounded comparison with every key is cheap
+            for (Map.Entry<String, ConcurrentHashMap<String, Set<String>>> entry : employersByKey.entrySet()) {
+                double score = NameSimilarity.similarity(entry.getKey(), query, FUZZY_MIN_SCORE);
+                if (score >= FUZZY_MIN_SCORE) {
+                    entry.getValue().keySet().forEach(employerId -> addMatch(matches, employerId, FUZZY, score));
+                }
+            }
+            aliases.forEach((key, employerId) -> {
+                double score = NameSimilarity.similarity(key, query, FUZZY_MIN_SCORE);
+                if (score >= FUZZY_MIN_SCORE) {
+                    addMatch(matches, employerId, FUZZY, score);
+                }
+            });
+        }
+
+        return sorted(matches, limit);
+    }
+
+    /**
+     * Employers whose name, ID or alias has exactly this name key; never prefix or similar names.
+     * More than one employer means the name is ambiguous.
+     */
+    public List<EmployerMatch> findExact(String name) {
+        String query = nameKey(name);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, EmployerMatch> matches = new LinkedHashMap<>();
+        addExactMatches(matches, query);
+        return sorted(matches, Integer.MAX_VALUE);
+    }
+
+    public int aliasCount() {
+        return aliases.size();
+    }
+
+    /**
+     * Name key of an employer name or ID: lowercase letters and digits, single spaces, legal suffixes dropped
+     */
+    public static String nameKey(String name) {
+        if (name == null) {
+            return "";
+        }
+
+        String words = NON_ALPHANUMERIC.matcher(name.toLowerCase(Locale.ROOT).replace("&", " and ")).replaceAll(" ").trim();
+        List<String> tokens = new ArrayList<>(List.of(words.split(" ")));
+        while (tokens.size() > 1 && LEGAL_SUFFIXES.contains(tokens.getLast())) {
+            tokens.removeLast();
+        }
+        return String.join(" ", tokens);
+    }
+
+    // ==================== INTERNALS ====================
+
+    private static Set<String> keys(EmploymentRecordDto record) {
+        Set<String> keys = new HashSet<>();
+        for (String value : new String[]{record.getEmployerName(), record.getEmployerId()}) {
+            String key = nameKey(value);
+            if (!key.isEmpty()) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    private void addExactMatches(Map<String, EmployerMatch> matches, String query) {
+        ConcurrentHashMap<String, Set<String>> exact = employersByKey.get(query);
+        if (exact != null) {
+            exact.keySet().forEach(employerId -> addMatch(matches, employerId, EXACT, 1.0));
+        }
+        String aliased = aliases.get(query);
+        if (aliased != null) {
+            addMatch(matches, aliased, ALIAS, 1.0);
+        }
+    }
+
+    private static List<EmployerMatch> sorted(Map<String, EmployerMatch> matches, int limit) {
+        List<EmployerMatch> results = new ArrayList<>(matches.values());
+        results.sort(Comparator.comparingDouble(EmployerMatch::score).reversed()
+                .thenComparing(EmployerMatch::employerId));
+        return results.size() > limit ? results.subList(0, limit) : results;
+    }
+
+    /**
+     * Keep the best match per employer; employer IDs differing only in case are one employer
+     */
+    private void addMatch(Map<String, EmployerMatch> matches, String employerId, String matchType, double score) {
+        String normalizedId = EmploymentRecordIndex.normalizeEmployerId(employerId);
+        EmployerMatch existing = matches.get(normalizedId);
+        if (existing == null || score > existing.score()) {
+            matches.put(normalizedId, new EmployerMatch(employerId, displayNames.get(employerId), matchType, score));
+        }
+    }
+
+    private void removeKey(String key, String employerId, String employeeId) {
+        ConcurrentHashMap<String, Set<String>> employers = employersByKey.get(key);
+        if (employers == null) {
+            return;
+        }
+        Set<String> employees = employers.get(employerId);
+        if (employees != null && employees.remove(employeeId) && employees.isEmpty()) {
+            employers.remove(employerId);
+            if (employers.isEmpty()) {
+                employersByKey.remove(key);
+            }
+        }
+    }
+}
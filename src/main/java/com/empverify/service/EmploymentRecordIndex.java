@@ -0,0 +1,523 @@
+package com.empverify.service;
+
+import com.empverify.dto.EmploymentRecordDto;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory secondary index over employment records.
+ * Writers are serialized on the index instance; readers never block and always
+ * see either the previous or the new version of a record.
+ */
+public class EmploymentRecordIndex {
+
+    private static final Pattern NON_NAME_CHARACTERS = Pattern.compile("[^a-z0-9\\s]");
+    private static final Pattern WHITESPACE_RUNS = Pattern.compile("\\s+");
+
+    // Trigrams over names padded with two start and two end markers
+    private static final int GRAM_SIZE = 3;
+    private static final String GRAM_START = "\u0002\u0002";
+    private static final String GRAM_END = "\u0003\u0003";
+
+    // National ID key kinds, see nationalIdKeys
+    private static final String NATIONAL_ID_EXACT = "X:";
+    private static final String NATIONAL_ID_LAST4 = "L:";
+    private static final String NATIONAL_ID_DIGITS = "D:";
+    private static final String NATIONAL_ID_SUFFIX = "S:";
+    private static final int MIN_SUFFIX_LENGTH = 4;
+
+    private final ConcurrentHashMap<String, EmploymentRecordDto> recordsById = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<String>> idsByEmployer = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<String>> idsByName = new ConcurrentHashMap<>();
+
+    // National ID search: exact, raw last-4, digits-only and numeric-suffix keys -> employee IDs
+    private final ConcurrentHashMap<String, Set<String>> idsByNationalIdKey = new ConcurrentHashMap<>();
+
+    // Fuzzy name search: trigram (with occurrence number) of the normalized name -> employee IDs
+    private final ConcurrentHashMap<String, Set<String>> idsByNameGram = new ConcurrentHashMap<>();
+
+    // Duplicate detection: exact employer ID -> canonical name -> employee IDs
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, Set<String>>> idsByEmployerAndName = new ConcurrentHashMap<>();
+
+    // Creates that passed their duplicate check but are not indexed yet: exact employer ID -> reservation -> canonical name.
+    // Not cleared with the records, since the creates are still in flight.
+    private final ConcurrentHashMap<String, ConcurrentHashMap<Long, String>> pendingCreates = new ConcurrentHashMap<>();
+    private final AtomicLong pendingCreateIds = new AtomicLong();
+
+    // Change versions for result caches: bumped after every write, and its value at each employer's last change
+    private final AtomicLong version = new AtomicLong();
+    private final ConcurrentHashMap<String, Long> employerVersions = new ConcurrentHashMap<>();
+    private volatile long clearedAtVersion = 0;
+
+    // Employer names and aliases -> employer IDs
+    private final EmployerDirectory employerDirectory = new EmployerDirectory();
+
+    /**
+     * Insert or replace a record and re-key it in every secondary map
+     */
+    public synchronized void put(EmploymentRecordDto record) {
+        if (record == null || record.getEmployeeId() == null) {
+            return;
+        }
+
+        String employeeId = record.getEmployeeId();
+        EmploymentRecordDto previous = recordsById.put(employeeId, record);
+
+        // Add the new keys before dropping stale ones so readers never miss an unchanged key
+        addKey(idsByEmployer, employerKey(record), employeeId);
+        addKey(idsByName, nameKey(record), employeeId);
+        addKey(employerNames(record.getEmployerId(), true), canonicalNameKey(record), employeeId);
+        addKeys(idsByNationalIdKey, nationalIdKeys(record), employeeId);
+        addKeys(idsByNameGram, nameGrams(nameKey(record)), employeeId);
+
+        if (previous != null) {
+            removeKeyIfChanged(idsByEmployer, employerKey(previous), employerKey(record), employeeId);
+            removeKeyIfChanged(idsByName, nameKey(previous), nameKey(record), employeeId);
+            removeStaleKeys(idsByNationalIdKey, nationalIdKeys(previous), nationalIdKeys(record), employeeId);
+            removeStaleKeys(idsByNameGram, nameGrams(nameKey(previous)), nameGrams(nameKey(record)), employeeId);
+            if (!Objects.equals(previous.getEmployerId(), record.getEmployerId())
+                    || !Objects.equals(canonicalNameKey(previous), canonicalNameKey(record))) {
+                removeEmployerName(previous, employeeId);
+            }
+        }
+
+        employerDirectory.update(previous, record);
+        recordChange(previous, record);
+    }
+
+    /**
+     * Remove a record from the index
+     */
+    public synchronized EmploymentRecordDto remove(String employeeId) {
+        if (employeeId == null) {
+            return null;
+        }
+
+        EmploymentRecordDto previous = recordsById.remove(employeeId);
+        if (previous != null) {
+            removeKey(idsByEmployer, employerKey(previous), employeeId);
+            removeKey(idsByName, nameKey(previous), employeeId);
+            removeStaleKeys(idsByNationalIdKey, nationalIdKeys(previous), Set.of(), employeeId);
+            removeStaleKeys(idsByNameGram, nameGrams(nameKey(previous)), Set.of(), employeeId);
+            removeEmployerName(previous, employeeId);
+            employerDirectory.update(previous, null);
+            recordChange(previous, null);
+        }
+        return previous;
+    }
+
+    public synchronized void clear() {
+        recordsById.clear();
+        idsByEmployer.clear();
+        idsByName.clear();
+        idsByNationalIdKey.clear();
+        idsByNameGram.clear();
+        idsByEmployerAndName.clear();
+        employerVersions.clear();
+        employerDirectory.clear();
+        clearedAtVersion = version.incrementAndGet();
+    }
+
+    // ==================== CHANGE VERSIONS ====================
+
+    /**
+     * Increases after every change to the index. A result computed after reading a version
+     * reflects at least every change up to it.
+     */
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * Like {@link #version()}, but only increases when a record of this employer changes
+     * (including a record moving to or away from it)
+     */
+    public long employerVersion(String employerId) {
+        String key = normalizeEmployerId(employerId);
+        Long changed = key != null ? employerVersions.get(key) : null;
+        return Math.max(changed != null ? changed : 0, clearedAtVersion);
+    }
+
+    private void recordChange(EmploymentRecordDto previous, EmploymentRecordDto current) {
+        long changed = version.incrementAndGet();
+        if (previous != null && employerKey(previous) != null) {
+            employerVersions.put(employerKey(previous), changed);
+        }
+        if (current != null && employerKey(current) != null) {
+            employerVersions.put(employerKey(current), changed);
+        }
+    }
+
+    // ==================== LOOKUPS ====================
+
+    public EmploymentRecordDto get(String employeeId) {
+        return employeeId != null ? recordsById.get(employeeId) : null;
+    }
+
+    public boolean contains(String employeeId) {
+        return employeeId != null && recordsById.containsKey(employeeId);
+    }
+
+    public int size() {
+        return recordsById.size();
+    }
+
+    public Collection<EmploymentRecordDto> all() {
+        return recordsById.values();
+    }
+
+    /**
+     * Records for an employer (case-insensitive employer ID)
+     */
+    public List<EmploymentRecordDto> findByEmployer(String employerId) {
+        return resolve(idsByEmployer.get(normalizeEmployerId(employerId)));
+    }
+
+    /**
+     * Records whose national ID equals the given value (case-insensitive)
+     */
+    public List<EmploymentRecordDto> findByNationalId(String nationalId) {
+        return resolve(idsByNationalIdKey.get(NATIONAL_ID_EXACT + normalizeNationalId(nationalId)));
+    }
+
+    /**
+     * Records for an employer whose national ID matches the query under any of the search modes:
+     * exact (case-insensitive), last 4 characters, all digits equal, or a numeric suffix of 4+ digits
+     */
+    public List<EmploymentRecordDto> findByNationalIdMatch(String nationalId, String employerId) {
+        if (nationalId == null || nationalId.trim().isEmpty()) {
+            return List.of();
+        }
+
+        String searchId = nationalId.trim();
+        String searchDigits = digitsOnly(searchId);
+        Set<String> ids = new TreeSet<>();
+
+        addNationalIdMatches(ids, NATIONAL_ID_EXACT + normalizeNationalId(searchId));
+        if (searchId.length() == 4) {
+            addNationalIdMatches(ids, NATIONAL_ID_LAST4 + searchId);
+        }
+        if (!searchDigits.isEmpty()) {
+            addNationalIdMatches(ids, NATIONAL_ID_DIGITS + searchDigits);
+        }
+        if (searchDigits.length() >= MIN_SUFFIX_LENGTH) {
+            addNationalIdMatches(ids, NATIONAL_ID_SUFFIX + searchDigits);
+        }
+
+        String employerKey = normalizeEmployerId(employerId);
+        List<EmploymentRecordDto> records = new ArrayList<>();
+        for (EmploymentRecordDto record : resolve(ids)) {
+            if (Objects.equals(employerKey(record), employerKey)) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Records whose full name equals the given value (case-insensitive, trimmed)
+     */
+    public List<EmploymentRecordDto> findByName(String fullName) {
+        return resolve(idsByName.get(normalizeName(fullName)));
+    }
+
+    /**
+     * Candidate records whose normalized name may be at least {@code minScore} similar to the given name.
+     * Uses the q-gram count filter: a name within edit distance k shares at least
+     * maxLength + 2 - 3k padded trigrams, so everything returned still needs a similarity check
+     * but nothing that could pass is left out. A non-positive minScore returns every record.
+     */
+    public Collection<EmploymentRecordDto> findByNameSimilarTo(String fullName, double minScore) {
+        String query = normalizeName(fullName);
+        if (query == null || query.isEmpty()) {
+            return List.of();
+        }
+        if (minScore <= 0.0) {
+            return all();
+        }
+
+        Map<String, Integer> sharedGrams = new HashMap<>();
+        for (String gram : nameGrams(query)) {
+            Set<String> ids = idsByNameGram.get(gram);
+            if (ids != null) {
+                for (String id : ids) {
+                    sharedGrams.merge(id, 1, Integer::sum);
+                }
+            }
+        }
+
+        List<EmploymentRecordDto> candidates = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : sharedGrams.entrySet()) {
+            EmploymentRecordDto record = recordsById.get(entry.getKey());
+            String name = record != null ? nameKey(record) : null;
+            if (name == null) {
+                continue;
+            }
+
+            int maxLength = Math.max(name.length(), query.length());
+            int maxDistance = (int) Math.floor((1.0 - minScore) * maxLength + 1e-9);
+
+            if (Math.abs(name.length() - query.length()) <= maxDistance
+                    && entry.getValue() >= maxLength + GRAM_SIZE - 1 - GRAM_SIZE * maxDistance) {
+                candidates.add(record);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Records for an exact employer ID whose canonical name equals the given canonical name
+     */
+    public List<EmploymentRecordDto> findByEmployerAndCanonicalName(String employerId, String canonicalName) {
+        Map<String, Set<String>> names = employerNames(employerId, false);
+        return names != null ? resolve(names.get(canonicalName)) : List.of();
+    }
+
+    /**
+     * Distinct canonical names recorded for an exact employer ID - the candidate set for fuzzy duplicate checks
+     */
+    public Set<String> canonicalNamesForEmployer(String employerId) {
+        Map<String, Set<String>> names = employerNames(employerId, false);
+        return names != null ? Collections.unmodifiableSet(names.keySet()) : Set.of();
+    }
+
+    public int employerCount() {
+        return idsByEmployer.size();
+    }
+
+    public EmployerDirectory employerDirectory() {
+        return employerDirectory;
+    }
+
+    public int distinctNameCount() {
+        return idsByName.size();
+    }
+
+    // ==================== PENDING CREATES ====================
+
+    /**
+     * Reserve a canonical name at an exact employer ID for a create on its way to the ledger,
+     * so duplicate checks see it before the record is indexed. Returns the reservation ID.
+     */
+    public long reservePendingCreate(String employerId, String canonicalName) {
+        long reservationId = pendingCreateIds.incrementAndGet();
+        pendingCreates.computeIfAbsent(String.valueOf(employerId), k -> new ConcurrentHashMap<>())
+                .put(reservationId, canonicalName);
+        return reservationId;
+    }
+
+    /**
+     * Drop a reservation once its record is indexed or its create has failed
+     */
+    public void releasePendingCreate(String employerId, long reservationId) {
+        pendingCreates.computeIfPresent(String.valueOf(employerId), (key, reservations) -> {
+            reservations.remove(reservationId);
+            return reservations.isEmpty() ? null : reservations;
+        });
+    }
+
+    /**
+     * Canonical names reserved by pending creates at an exact employer ID
+     */
+    public Collection<String> pendingCreateNames(String employerId) {
+        Map<Long, String> reservations = pendingCreates.get(String.valueOf(employerId));
+        return reservations != null ? List.copyOf(reservations.values()) : List.of();
+    }
+
+    public int pendingCreateCount() {
+        return pendingCreates.values().stream().mapToInt(Map::size).sum();
+    }
+
+    // ==================== KEY NORMALIZATION ====================
+
+    public static String normalizeEmployerId(String employerId) {
+        return employerId != null ? employerId.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
+    public static String normalizeNationalId(String nationalId) {
+        return nationalId != null ? nationalId.trim().toUpperCase(Locale.ROOT) : null;
+    }
+
+    public static String normalizeName(String fullName) {
+        return fullName != null ? fullName.toLowerCase().trim() : null;
+    }
+
+    /**
+     * Canonical form used for duplicate detection: lowercase, letters/digits/spaces only, single spaces
+     */
+    public static String canonicalName(String fullName) {
+        if (fullName == null) {
+            return "";
+        }
+
+        String lettersOnly = NON_NAME_CHARACTERS.matcher(fullName.toLowerCase()).replaceAll("");
+        return WHITESPACE_RUNS.matcher(lettersOnly).replaceAll(" ").trim();
+    }
+
+    private static String canonicalNameKey(EmploymentRecordDto record) {
+        return record.getEmployeeName() != null ? canonicalName(record.getEmployeeName().getFullName()) : null;
+    }
+
+    /**
+     * Padded trigrams of a normalized name. Repeated trigrams are numbered so that
+     * set intersection counts shared grams the same way multiset intersection would.
+     */
+    private static Set<String> nameGrams(String name) {
+        if (name == null || name.isEmpty()) {
+            return Set.of();
+        }
+
+        String padded = GRAM_START + name + GRAM_END;
+        Map<String, Integer> occurrences = new HashMap<>();
+        Set<String> grams = new HashSet<>();
+
+        for (int i = 0; i + GRAM_SIZE <= padded.length(); i++) {
+            String gram = padded.substring(i, i + GRAM_SIZE);
+            int occurrence = occurrences.merge(gram, 1, Integer::sum);
+            grams.add(gram + occurrence);
+        }
+        return grams;
+    }
+
+    private static String employerKey(EmploymentRecordDto record) {
+        return normalizeEmployerId(record.getEmployerId());
+    }
+
+    /**
+     * Every key a record's national ID can be found under. Suffix keys cover each
+     * trailing run of at least four digits of the digits-only ID.
+     */
+    private static Set<String> nationalIdKeys(EmploymentRecordDto record) {
+        String nationalId = record.getEmployeeName() != null ? record.getEmployeeName().getNationalId() : null;
+        if (nationalId == null || nationalId.trim().isEmpty()) {
+            return Set.of();
+        }
+
+        String recordId = nationalId.trim();
+        String digits = digitsOnly(recordId);
+        Set<String> keys = new HashSet<>();
+
+        keys.add(NATIONAL_ID_EXACT + normalizeNationalId(recordId));
+        if (recordId.length() >= 4) {
+            keys.add(NATIONAL_ID_LAST4 + recordId.substring(recordId.length() - 4));
+        }
+        if (!digits.isEmpty()) {
+            keys.add(NATIONAL_ID_DIGITS + digits);
+        }
+        for (int start = 0; start + MIN_SUFFIX_LENGTH <= digits.length(); start++) {
+            keys.add(NATIONAL_ID_SUFFIX + digits.substring(start));
+        }
+        return keys;
+    }
+
+    private static String digitsOnly(String value) {
+        StringBuilder digits = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+
+    private static String nameKey(EmploymentRecordDto record) {
+        return record.getEmployeeName() != null ? normalizeName(record.getEmployeeName().getFullName()) : null;
+    }
+
+    // ==================== INTERNALS ====================
+
+    private List<EmploymentRecordDto> resolve(Set<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+
+        List<EmploymentRecordDto> records = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            EmploymentRecordDto record = recordsById.get(id);
+            if (record != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    private void addNationalIdMatches(Set<String> ids, String key) {
+        Set<String> matches = idsByNationalIdKey.get(key);
+        if (matches != null) {
+            ids.addAll(matches);
+        }
+    }
+
+    private ConcurrentHashMap<String, Set<String>> employerNames(String employerId, boolean create) {
+        if (employerId == null) {
+            return create ? new ConcurrentHashMap<>() : null;
+        }
+        return create
+                ? idsByEmployerAndName.computeIfAbsent(employerId, k -> new ConcurrentHashMap<>())
+                : idsByEmployerAndName.get(employerId);
+    }
+
+    private void removeEmployerName(EmploymentRecordDto record, String employeeId) {
+        ConcurrentHashMap<String, Set<String>> names = employerNames(record.getEmployerId(), false);
+        if (names != null) {
+            removeKey(names, canonicalNameKey(record), employeeId);
+            if (names.isEmpty()) {
+                idsByEmployerAndName.remove(record.getEmployerId(), names);
+            }
+        }
+    }
+
+    private static void addKey(ConcurrentHashMap<String, Set<String>> map, String key, String employeeId) {
+        if (key == null || key.isEmpty()) {
+            return;
+        }
+        map.computeIfAbsent(key, k -> new ConcurrentSkipListSet<>()).add(employeeId);
+    }
+
+    private static void addKeys(ConcurrentHashMap<String, Set<String>> map, Set<String> keys, String employeeId) {
+        for (String key : keys) {
+            addKey(map, key, employeeId);
+        }
+    }
+
+    private static void removeStaleKeys(ConcurrentHashMap<String, Set<String>> map,
+                                        Set<String> oldKeys, Set<String> newKeys, String employeeId) {
+        for (String key : oldKeys) {
+            if (!newKeys.contains(key)) {
+                removeKey(map, key, employeeId);
+            }
+        }
+    }
+
+    private static void removeKeyIfChanged(ConcurrentHashMap<String, Set<String>> map,
+                                           String oldKey, String newKey, String employeeId) {
+        if (!Objects.equals(oldKey, newKey)) {
+            removeKey(map, oldKey, employeeId);
+        }
+    }
+
+    private static void removeKey(ConcurrentHashMap<String, Set<String>> map, String key, String employeeId) {
+        if (key == null) {
+            return;
+        }
+        map.computeIfPresent(key, (k, ids) -> {
+            ids.remove(employeeId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+}
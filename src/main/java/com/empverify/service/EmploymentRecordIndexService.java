@@ -0,0 +1,505 @@
+package com.empverify.service;
+
+import com.empverify.dto.EmploymentRecordDto;
+import com.empverify.dto.EmploymentRecordRequest;
+import com.empverify.dto.RecordChangeDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Owns the live {@link EmploymentRecordIndex}: builds it once from the ledger after startup
+ * and keeps it current from the {@link RecordChangeFeed} and from writes made through this API.
+ * The index is checkpointed to an {@link IndexSnapshotStore} file with the last block it has
+ * applied; on restart a recent snapshot is loaded and brought current by replaying chaincode
+ * events from that block and scanning IDs issued past its counters, instead of a full rebuild.
+ */
+@Service
+public class EmploymentRecordIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmploymentRecordIndexService.class);
+
+    private final FabricGatewayService fabricGatewayService;
+    private final IdentityManagerService identityManager;
+    private final ObjectMapper objectMapper;
+    private final RecordChangeFeed recordChangeFeed;
+    private final LedgerScanner ledgerScanner;
+    private final ScanPlanner scanPlanner;
+    private final IndexSnapshotStore snapshotStore;
+
+    private final EmploymentRecordIndex index = new EmploymentRecordIndex();
+    private final ConcurrentHashMap<Integer, Integer> indexedCounters = new ConcurrentHashMap<>();
+    // Index maintenance and snapshot writes, one at a time
+    private final ScheduledExecutorService indexExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "record-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${empverify.search-index.enabled:true}")
+    private boolean indexEnabled;
+
+    @Value("${empverify.search-index.api-key:}")
+    private String configuredApiKey;
+
+    @Value("${empverify.search-index.snapshot.enabled:true}")
+    private boolean snapshotEnabled;
+
+    @Value("${empverify.search-index.snapshot.interval-seconds:300}")
+    private long snapshotIntervalSeconds;
+
+    @Value("${empverify.search-index.snapshot.max-age-hours:24}")
+    private long snapshotMaxAgeHours;
+
+    @Value("${empverify.employer-directory.aliases:}")
+    private String employerAliases;
+
+    private volatile boolean ready = false;
+    private volatile long lastRebuildMs = 0;
+    private volatile String indexApiKey;
+
+    // Written on the index thread only: every change up to appliedBlock is in the index, except
+    // that a change which failed to apply holds the snapshot watermark at its block
+    private volatile long appliedBlock = -1;
+    private volatile long firstUnappliedBlock = Long.MAX_VALUE;
+    private volatile boolean snapshotDirty = false;
+    private volatile boolean restoredFromSnapshot = false;
+    private volatile IndexSnapshotStore.SnapshotInfo lastSnapshot;
+
+    @Autowired
+    public EmploymentRecordIndexService(FabricGatewayService fabricGatewayService,
+                                        IdentityManagerService identityManager,
+                                        ObjectMapper objectMapper,
+                                        RecordChangeFeed recordChangeFeed,
+                                        LedgerScanner ledgerScanner,
+                                        ScanPlanner scanPlanner,
+                                        IndexSnapshotStore snapshotStore) {
+        this.fabricGatewayService = fabricGatewayService;
+        this.identityManager = identityManager;
+        this.objectMapper = objectMapper;
+        this.recordChangeFeed = recordChangeFeed;
+        this.ledgerScanner = ledgerScanner;
+        this.scanPlanner = scanPlanner;
+        this.snapshotStore = snapshotStore;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        loadEmployerAliases();
+        restoreSnapshot();
+    }
+
+    /**
+     * Register configured employer aliases, given as "Alias=EMPLOYER_ID" pairs separated by ';'
+     */
+    private void loadEmployerAliases() {
+        if (employerAliases == null || employerAliases.isBlank()) {
+            return;
+        }
+
+        for (String entry : employerAliases.split(";")) {
+            int separator = entry.lastIndexOf('=');
+            if (separator <= 0 || separator == entry.length() - 1) {
+                if (!entry.isBlank()) {
+                    logger.warn("Ignoring employer alias '{}': expected Alias=EMPLOYER_ID", entry.trim());
+                }
+                continue;
+            }
+            index.employerDirectory().addAlias(entry.substring(0, separator), entry.substring(separator + 1));
+        }
+        logger.info("Loaded {} employer alias(es)", index.employerDirectory().aliasCount());
+    }
+
+    /**
+     * Load the snapshot before the change feed starts, so the feed can replay from its block
+     */
+    private void restoreSnapshot() {
+        if (!indexEnabled || !snapshotEnabled) {
+            return;
+        }
+        String readerApiKey = identityManager.resolveServiceApiKey(configuredApiKey);
+        if (readerApiKey == null) {
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+        IndexSnapshotStore.SnapshotInfo snapshot = snapshotStore.load(snapshotReader(readerApiKey), index::put);
+        if (snapshot == null) {
+            return;
+        }
+
+        long ageMs = System.currentTimeMillis() - snapshot.writtenAtMillis();
+        if (ageMs > TimeUnit.HOURS.toMillis(snapshotMaxAgeHours) || snapshot.blockNumber() < 0
+                || !recordChangeFeed.replayFrom(snapshot.blockNumber())) {
+            logger.info("Index snapshot from block {} ({} min old) not used, the index will be rebuilt",
+                    snapshot.blockNumber(), TimeUnit.MILLISECONDS.toMinutes(ageMs));
+            index.clear();
+            return;
+        }
+
+        indexedCounters.putAll(snapshot.counters());
+        appliedBlock = snapshot.blockNumber();
+        lastSnapshot = snapshot;
+        restoredFromSnapshot = true;
+        logger.info("Record index restored from snapshot: {} records at block {} in {} ms",
+                snapshot.records(), snapshot.blockNumber(), System.currentTimeMillis() - startTime);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!indexEnabled) {
+            logger.info("Record index is disabled, searches will scan the ledger");
+            return;
+        }
+        indexExecutor.execute(restoredFromSnapshot ? this::catchUpFromSnapshot : this::rebuild);
+
+        if (snapshotEnabled) {
+            indexExecutor.scheduleWithFixedDelay(this::writeSnapshot,
+                    snapshotIntervalSeconds, snapshotIntervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    // ==================== PUBLIC API ====================
+
+    /**
+     * Whether the index has completed its initial build and can answer queries
+     */
+    public boolean isReady() {
+        return indexEnabled && ready;
+    }
+
+    public EmploymentRecordIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Apply a record written through this API immediately. Once the write is committed the
+     * authoritative version is re-read from the ledger in the background; for a write that is
+     * still pending the caller refreshes after the commit instead.
+     */
+    public void recordWritten(EmploymentRecordDto record, boolean committed) {
+        if (!isMaintained() || record == null || record.getEmployeeId() == null) {
+            return;
+        }
+        index.put(record);
+        snapshotDirty = true;
+        if (committed) {
+            refreshAsync(record.getEmployeeId());
+        }
+    }
+
+    /**
+     * Index a record just created from a request, before its ledger copy has been read back
+     */
+    public void recordCreated(EmploymentRecordRequest request, String employeeId, boolean committed) {
+        if (!isMaintained() || employeeId == null) {
+            return;
+        }
+        EmploymentRecordDto createdRecord = objectMapper.convertValue(request, EmploymentRecordDto.class);
+        createdRecord.setEmployeeId(employeeId);
+        recordWritten(createdRecord, committed);
+    }
+
+    /**
+     * Re-read a single record from the ledger in the background
+     */
+    public void refreshAsync(String employeeId) {
+        if (isMaintained() && employeeId != null) {
+            indexExecutor.execute(() -> refresh(employeeId));
+        }
+    }
+
+    /**
+     * Whether the index is being built or kept current, so that writes should be applied to it.
+     * Without a reader identity or change feed it is never served and must not grow.
+     */
+    private boolean isMaintained() {
+        return indexEnabled && indexApiKey != null;
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", indexEnabled);
+        stats.put("ready", ready);
+        stats.put("records", index.size());
+        stats.put("employers", index.employerCount());
+        stats.put("employer_aliases", index.employerDirectory().aliasCount());
+        stats.put("distinct_names", index.distinctNameCount());
+        stats.put("indexed_counters", new HashMap<>(indexedCounters));
+        stats.put("last_rebuild_ms", lastRebuildMs);
+        stats.put("restored_from_snapshot", restoredFromSnapshot);
+        stats.put("applied_block", appliedBlock);
+        stats.put("snapshot", snapshotStatistics());
+        stats.put("listening_for_events", recordChangeFeed.isListeningForEvents());
+        stats.put("ledger_scan", ledgerScanner.getStatistics());
+        stats.put("scan_planner", scanPlanner.getStatistics());
+        return stats;
+    }
+
+    // ==================== BUILD AND MAINTENANCE ====================
+
+    /**
+     * Full rebuild: scan every year that has records and subscribe to contract events
+     */
+    public void rebuild() {
+        long startTime = System.currentTimeMillis();
+
+        try {
+            indexApiKey = identityManager.resolveServiceApiKey(configuredApiKey);
+            if (indexApiKey == null) {
+                logger.warn("No search-index reader identity configured, searches will scan the ledger with each caller's identity");
+                return;
+            }
+
+            // Start the change feed first so that writes made during the scan are not lost
+            recordChangeFeed.start();
+            if (!recordChangeFeed.isListeningForEvents()) {
+                // Counter polling alone sees new records but never updates, so the index would go stale
+                logger.warn("Record change feed is not receiving chaincode events (disabled, no change-feed "
+                        + "reader identity or listener registration failed), searches will scan the ledger");
+                indexApiKey = null;
+                return;
+            }
+
+            // The scan sees at least every block below this height; later ones arrive as events
+            long height = blockHeight();
+            scan(scanPlanner.planAll(indexApiKey));
+            if (height > 0) {
+                appliedBlock = Math.max(appliedBlock, height - 1);
+            }
+
+            ready = true;
+            lastRebuildMs = System.currentTimeMillis() - startTime;
+            logger.info("Record index built: {} records, {} employers in {} ms",
+                    index.size(), index.employerCount(), lastRebuildMs);
+
+        } catch (Exception e) {
+            logger.error("Failed to build record index, searches will scan the ledger", e);
+        }
+    }
+
+    /**
+     * Bring a restored snapshot current: the feed replays events from the snapshot block, and IDs
+     * issued past the snapshot counters are scanned. Without contract events updates made while
+     * this node was down cannot be replayed, so the index is rebuilt instead.
+     */
+    private void catchUpFromSnapshot() {
+        long startTime = System.currentTimeMillis();
+
+        try {
+            indexApiKey = identityManager.resolveServiceApiKey(configuredApiKey);
+            if (indexApiKey == null) {
+                logger.warn("No search-index reader identity configured, searches will scan the ledger with each caller's identity");
+                return;
+            }
+
+            recordChangeFeed.start();
+            if (!recordChangeFeed.isListeningForEvents()) {
+                logger.warn("Cannot replay changes since the index snapshot, rebuilding the index from the ledger");
+                index.clear();
+                indexedCounters.clear();
+                appliedBlock = -1;
+                restoredFromSnapshot = false;
+                rebuild();
+                return;
+            }
+
+            scan(scanPlanner.planSince(indexApiKey, new HashMap<>(indexedCounters)));
+
+            ready = true;
+            lastRebuildMs = System.currentTimeMillis() - startTime;
+            logger.info("Record index caught up from snapshot: {} records, {} employers in {} ms, replaying events from block {}",
+                    index.size(), index.employerCount(), lastRebuildMs, lastSnapshot.blockNumber());
+
+        } catch (Exception e) {
+            logger.error("Failed to catch up record index from snapshot, searches will scan the ledger", e);
+        }
+    }
+
+    /**
+     * Pick up records created since the last scan, in any year, by comparing employee counters
+     */
+    private void catchUpNewRecords() {
+        if (indexApiKey == null) {
+            return;
+        }
+        // Reached from an event that did not name a record, so cached counters may be behind
+        scanPlanner.invalidateAll();
+        scan(scanPlanner.planSince(indexApiKey, new HashMap<>(indexedCounters)));
+    }
+
+    private void scan(ScanPlanner.ScanPlan plan) {
+        for (ScanPlanner.ScanRange range : plan.ranges()) {
+            logger.debug("Indexing records {}..{} for year {}", range.fromCounter(), range.toCounter(), range.year());
+
+            ledgerScanner.scan(indexApiKey, range.year(), range.fromCounter(), range.toCounter(), index::put);
+            indexedCounters.merge(range.year(), range.toCounter(), Math::max);
+            snapshotDirty = true;
+        }
+    }
+
+    /**
+     * Re-read one record; returns false when the ledger could not be read
+     */
+    private boolean refresh(String employeeId) {
+        if (indexApiKey == null) {
+            return false;
+        }
+
+        try {
+            String result = fabricGatewayService.evaluateTransactionForApiKey(indexApiKey, "getRecord", employeeId);
+            index.put(objectMapper.readValue(result, EmploymentRecordDto.class));
+            snapshotDirty = true;
+            logger.debug("Refreshed indexed record {}", employeeId);
+            return true;
+        } catch (Exception e) {
+            if (causeChainMessage(e).contains("RECORD_NOT_FOUND")) {
+                index.remove(employeeId);
+                snapshotDirty = true;
+                return true;
+            }
+            logger.debug("Could not refresh indexed record {}: {}", employeeId, e.getMessage());
+            return false;
+        }
+    }
+
+    private long blockHeight() {
+        try {
+            return fabricGatewayService.getBlockHeight(indexApiKey);
+        } catch (Exception e) {
+            logger.warn("Could not read block height, the index will not be snapshotted: {}", e.getMessage());
+            return -1;
+        }
+    }
+
+    // ==================== SNAPSHOTS ====================
+
+    /**
+     * Checkpoint the index if it changed since the last snapshot. Runs on the index thread, or
+     * after it has stopped, so the records and the watermark belong together.
+     */
+    private void writeSnapshot() {
+        long watermark = Math.min(appliedBlock, firstUnappliedBlock);
+        if (!ready || !snapshotDirty || watermark < 0) {
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+        snapshotDirty = false;
+        try {
+            lastSnapshot = snapshotStore.write(new ArrayList<>(index.all()), new HashMap<>(indexedCounters), watermark,
+                    snapshotReader(indexApiKey));
+            logger.info("Wrote record index snapshot: {} records at block {} in {} ms",
+                    lastSnapshot.records(), watermark, System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            snapshotDirty = true;
+            logger.warn("Could not write record index snapshot to {}: {}", snapshotStore.getPath(), e.getMessage());
+        }
+    }
+
+    /**
+     * Identity a snapshot is read with: MSP and user name of the reader key, not the key itself
+     */
+    private String snapshotReader(String apiKey) {
+        var reader = identityManager.getUserInfoForApiKey(apiKey);
+        return reader != null ? reader.mspId() + "/" + reader.userName() : "";
+    }
+
+    private Map<String, Object> snapshotStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", snapshotEnabled);
+        stats.put("path", snapshotStore.getPath());
+        IndexSnapshotStore.SnapshotInfo snapshot = lastSnapshot;
+        if (snapshot != null) {
+            stats.put("block", snapshot.blockNumber());
+            stats.put("records", snapshot.records());
+            stats.put("written_at_millis", snapshot.writtenAtMillis());
+        }
+        return stats;
+    }
+
+    // ==================== CHANGE FEED ====================
+
+    /**
+     * Apply a change from the record change feed. Writes may come from another node, so the
+     * record is re-read from the ledger; a change without an ID triggers a counter catch-up.
+     */
+    @EventListener
+    public void onRecordChange(RecordChangeDto change) {
+        if (!indexEnabled) {
+            return;
+        }
+
+        Long block = change.getBlockNumber();
+        if (change.getEmployeeId() != null) {
+            indexExecutor.execute(() -> markApplied(block, refresh(change.getEmployeeId())));
+        } else {
+            indexExecutor.execute(() -> {
+                try {
+                    catchUpNewRecords();
+                    markApplied(block, true);
+                } catch (Exception e) {
+                    markApplied(block, false);
+                    logger.warn("Record index catch-up failed: {}", e.getMessage());
+                }
+            });
+        }
+    }
+
+    private void markApplied(Long block, boolean applied) {
+        if (block == null) {
+            return;
+        }
+        if (applied) {
+            appliedBlock = Math.max(appliedBlock, block);
+        } else {
+            // Replay from this block after a restart so the change is not lost for good
+            firstUnappliedBlock = Math.min(firstUnappliedBlock, block);
+        }
+    }
+
+    // ==================== UTILITY METHODS ====================
+
+    private String causeChainMessage(Throwable e) {
+        Throwable current = e;
+        StringBuilder messages = new StringBuilder();
+        while (current != null) {
+            messages.append(current.getMessage()).append(' ');
+            current = current.getCause();
+        }
+        return messages.toString();
+    }
+
+    /**
+     * Stop index maintenance and write a final snapshot; queued changes are left to the replay
+     */
+    @PreDestroy
+    public void shutdown() {
+        indexExecutor.shutdownNow();
+        if (!snapshotEnabled) {
+            return;
+        }
+        try {
+            if (indexExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+                writeSnapshot();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.empverify.service;
 import com.empverify.dto.*;
 import com.empverify.exception.BlockchainException;
 import com.empverify.exception.EmployeeRecordNotFoundException;
+import com.empverify.service.DuplicatePreventionService.CreateReservation;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
@@ -21,16 +22,28 @@ public class EmploymentRecordService {
     private final ObjectMapper objectMapper;
     private final DuplicatePreventionService duplicatePreventionService;
     private final EmployeeSearchService employeeSearchService;
+    private final EmploymentRecordIndexService recordIndexService;
+    private final LedgerReadCache ledgerReadCache;
+    private final TransactionTracker transactionTracker;
+    private final WriteBatcher writeBatcher;
 
     @Autowired
     public EmploymentRecordService(FabricGatewayService fabricGatewayService,
                                    ObjectMapper objectMapper,
                                    DuplicatePreventionService duplicatePreventionService,
-                                   EmployeeSearchService employeeSearchService) {
+                                   EmployeeSearchService employeeSearchService,
+                                   EmploymentRecordIndexService recordIndexService,
+                                   LedgerReadCache ledgerReadCache,
+                                   TransactionTracker transactionTracker,
+                                   WriteBatcher writeBatcher) {
         this.fabricGatewayService = fabricGatewayService;
         this.objectMapper = objectMapper;
         this.duplicatePreventionService = duplicatePreventionService;
         this.employeeSearchService = employeeSearchService;
+        this.recordIndexService = recordIndexService;
+        this.ledgerReadCache = ledgerReadCache;
+        this.transactionTracker = transactionTracker;
+        this.writeBatcher = writeBatcher;
     }
 
     // ========================
@@ -151,45 +164,66 @@ public class EmploymentRecordService {
         try {
             logger.info("Creating employment record for employer: {}", request.getEmployerId());
 
-            // Check for duplicates BEFORE creating the record
-            DuplicateCheckDto duplicateCheck = duplicatePreventionService.checkForDuplicates(
-                    request.getEmployeeName(),
-                    request.getEmployerId()
-            );
-
-            // Block creation if duplicate is found and should be blocked
-            if (duplicatePreventionService.shouldBlockDuplicate(duplicateCheck)) {
-                String errorMessage = String.format(
-                        "Duplicate record detected: %s. Employee already exists for this employer.",
-                        duplicateCheck.getMessage()
-                );
-
-                logger.warn("Blocking duplicate record creation: {}", errorMessage);
-                return BlockchainResponse.error(errorMessage);
+            // Check for duplicates BEFORE creating the record; the name stays reserved until it is indexed
+            CreateReservation reservation = reserveCreate(request);
+            if (reservation.blocked()) {
+                return BlockchainResponse.error(duplicateBlockedMessage(reservation.duplicateCheck()));
             }
 
-            // Log warning for similar matches that aren't blocked
-            if (duplicateCheck.getIsDuplicate() && !duplicatePreventionService.shouldBlockDuplicate(duplicateCheck)) {
-                logger.warn("Similar record detected but allowing creation: {} - {}",
-                        duplicateCheck.getMessage(), duplicateCheck.getExistingEmployeeIds());
-            }
+            try {
+                // Proceed with record creation
+                String recordJson = objectMapper.writeValueAsString(request);
+                String result = writeBatcher.submit("createRecord", recordJson);
 
-            // Proceed with record creation
-            String recordJson = objectMapper.writeValueAsString(request);
-            String result = fabricGatewayService.submitTransaction("createRecord", recordJson);
+                recordCreated(request, result, true);
 
-            // Parse the result to extract employee ID
-            EmploymentRecordResponse response = objectMapper.readValue(result, EmploymentRecordResponse.class);
+                return BlockchainResponse.success(
+                        createdMessage("Employment record created successfully", reservation.duplicateCheck()), result);
+            } finally {
+                reservation.release();
+            }
+
+        } catch (JsonProcessingException e) {
+            logger.error("Failed to serialize employment record request", e);
+            return BlockchainResponse.error("Invalid request format: " + e.getMessage());
+        } catch (Exception e) {
+            logger.error("Failed to create employment record", e);
+            return BlockchainResponse.error("Failed to create employment record: " + e.getMessage());
+        }
+    }
 
-            logger.info("Successfully created employment record with ID: {}", response.getEmployeeId());
+    /**
+     * Create a record without waiting for the commit: returns once the transaction is endorsed
+     * and ordered, with a transaction status that can be polled until it is committed
+     */
+    public BlockchainResponse<TransactionStatusDto> createEmploymentRecordAsync(EmploymentRecordRequest request) {
+        try {
+            logger.info("Creating employment record asynchronously for employer: {}", request.getEmployerId());
 
-            // Include duplicate check info in success response if there were warnings
-            String successMessage = "Employment record created successfully";
-            if (duplicateCheck.getIsDuplicate()) {
-                successMessage += " (Warning: " + duplicateCheck.getMessage() + ")";
+            CreateReservation reservation = reserveCreate(request);
+            if (reservation.blocked()) {
+                return BlockchainResponse.error(duplicateBlockedMessage(reservation.duplicateCheck()));
             }
 
-            return BlockchainResponse.success(successMessage, result);
+            boolean releasedOnCommit = false;
+            try {
+                String recordJson = objectMapper.writeValueAsString(request);
+                PendingTransaction pending = fabricGatewayService.submitTransactionAsync("createRecord", recordJson);
+
+                // Until the commit a ledger-scan duplicate check cannot see the record, so keep the name reserved
+                pending.commit().whenComplete((blockNumber, error) -> reservation.release());
+                releasedOnCommit = true;
+
+                String employeeId = recordCreated(request, pending.result(), false);
+                TransactionStatusDto status = trackWrite(pending, "createRecord", employeeId);
+
+                return BlockchainResponse.success(
+                        createdMessage("Employment record accepted, awaiting commit", reservation.duplicateCheck()), status);
+            } finally {
+                if (!releasedOnCommit) {
+                    reservation.release();
+                }
+            }
 
         } catch (JsonProcessingException e) {
             logger.error("Failed to serialize employment record request", e);
@@ -204,8 +238,7 @@ public class EmploymentRecordService {
         try {
             logger.info("Retrieving employment record for employee ID: {}", employeeId);
 
-            String result = fabricGatewayService.evaluateTransaction("getRecord", employeeId);
-            EmploymentRecordDto record = objectMapper.readValue(result, EmploymentRecordDto.class);
+            EmploymentRecordDto record = cachedRead(employeeId, "getRecord", EmploymentRecordDto.class);
 
             logger.info("Successfully retrieved employment record for employee ID: {}", employeeId);
             return BlockchainResponse.success("Employment record retrieved successfully", record);
@@ -233,9 +266,11 @@ public class EmploymentRecordService {
             request.setEmployeeId(employeeId);
 
             String recordJson = objectMapper.writeValueAsString(request);
-            String result = fabricGatewayService.submitTransaction("updateRecord", recordJson);
+            String result = writeBatcher.submit("updateRecord", recordJson);
 
             logger.info("Successfully updated employment record for employee ID: {}", employeeId);
+            ledgerReadCache.invalidate(employeeId);
+            recordIndexService.refreshAsync(employeeId);
             return BlockchainResponse.success("Employment record updated successfully", result);
 
         } catch (JsonProcessingException e) {
@@ -247,6 +282,43 @@ public class EmploymentRecordService {
         }
     }
 
+    /**
+     * Update a record without waiting for the commit
+     */
+    public BlockchainResponse<TransactionStatusDto> updateEmploymentRecordAsync(String employeeId, EmploymentRecordUpdateRequest request) {
+        try {
+            logger.info("Updating employment record asynchronously for employee ID: {}", employeeId);
+
+            request.setEmployeeId(employeeId);
+
+            String recordJson = objectMapper.writeValueAsString(request);
+            PendingTransaction pending = fabricGatewayService.submitTransactionAsync("updateRecord", recordJson);
+
+            ledgerReadCache.invalidate(employeeId);
+            TransactionStatusDto status = trackWrite(pending, "updateRecord", employeeId);
+
+            return BlockchainResponse.success("Employment record update accepted, awaiting commit", status);
+
+        } catch (JsonProcessingException e) {
+            logger.error("Failed to serialize employment record update request", e);
+            return BlockchainResponse.error("Invalid request format: " + e.getMessage());
+        } catch (Exception e) {
+            logger.error("Failed to update employment record for employee ID: {}", employeeId, e);
+            return BlockchainResponse.error("Failed to update employment record: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Commit status of a transaction submitted asynchronously
+     */
+    public BlockchainResponse<TransactionStatusDto> getTransactionStatus(String transactionId) {
+        TransactionStatusDto status = transactionTracker.getStatus(transactionId);
+        if (status == null) {
+            return BlockchainResponse.error("Unknown transaction ID: " + transactionId);
+        }
+        return BlockchainResponse.success("Transaction status retrieved", status);
+    }
+
     public BlockchainResponse<String> addDocument(String employeeId, String documentType, DocumentRequest documentRequest) {
         try {
             logger.info("Adding document of type {} for employee ID: {}", documentType, employeeId);
@@ -255,6 +327,7 @@ public class EmploymentRecordService {
             String result = fabricGatewayService.submitTransaction("addDocument", employeeId, documentType, documentJson);
 
             logger.info("Successfully added document for employee ID: {}", employeeId);
+            ledgerReadCache.invalidate(employeeId);
             return BlockchainResponse.success("Document added successfully", result);
 
         } catch (JsonProcessingException e) {
@@ -270,8 +343,7 @@ public class EmploymentRecordService {
         try {
             logger.info("Retrieving documents for employee ID: {}", employeeId);
 
-            String result = fabricGatewayService.evaluateTransaction("getDocuments", employeeId);
-            DocumentCollectionDto documents = objectMapper.readValue(result, DocumentCollectionDto.class);
+            DocumentCollectionDto documents = cachedRead(employeeId, "getDocuments", DocumentCollectionDto.class);
 
             logger.info("Successfully retrieved documents for employee ID: {}", employeeId);
             return BlockchainResponse.success("Documents retrieved successfully", documents);
@@ -386,10 +458,110 @@ public class EmploymentRecordService {
         }
     }
 
+    /**
+     * Get search index status
+     */
+    public BlockchainResponse<Map<String, Object>> getSearchIndexStatus() {
+        try {
+            Map<String, Object> status = recordIndexService.getStatistics();
+            status.put("result_cache", employeeSearchService.getCacheStatistics());
+            return BlockchainResponse.success("Search index status retrieved", status);
+        } catch (Exception e) {
+            logger.error("Failed to get search index status", e);
+            return BlockchainResponse.error("Failed to get search index status: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Get read cache statistics
+     */
+    public BlockchainResponse<Map<String, Object>> getReadCacheStatus() {
+        try {
+            Map<String, Object> status = ledgerReadCache.getStatistics();
+            return BlockchainResponse.success("Read cache status retrieved", status);
+        } catch (Exception e) {
+            logger.error("Failed to get read cache status", e);
+            return BlockchainResponse.error("Failed to get read cache status: " + e.getMessage());
+        }
+    }
+
     // ========================
     // UTILITY METHODS
     // ========================
 
+    /**
+     * Run the duplicate check for a new record and log similar matches that will not block it
+     */
+    private CreateReservation reserveCreate(EmploymentRecordRequest request) {
+        CreateReservation reservation = duplicatePreventionService.reserveCreate(
+                request.getEmployeeName(),
+                request.getEmployerId()
+        );
+
+        DuplicateCheckDto duplicateCheck = reservation.duplicateCheck();
+        if (duplicateCheck.getIsDuplicate() && !reservation.blocked()) {
+            logger.warn("Similar record detected but allowing creation: {} - {}",
+                    duplicateCheck.getMessage(), duplicateCheck.getExistingEmployeeIds());
+        }
+        return reservation;
+    }
+
+    private String duplicateBlockedMessage(DuplicateCheckDto duplicateCheck) {
+        String errorMessage = String.format(
+                "Duplicate record detected: %s. Employee already exists for this employer.",
+                duplicateCheck.getMessage()
+        );
+
+        logger.warn("Blocking duplicate record creation: {}", errorMessage);
+        return errorMessage;
+    }
+
+    /**
+     * Include duplicate check info in success response if there were warnings
+     */
+    private String createdMessage(String message, DuplicateCheckDto duplicateCheck) {
+        if (duplicateCheck.getIsDuplicate()) {
+            return message + " (Warning: " + duplicateCheck.getMessage() + ")";
+        }
+        return message;
+    }
+
+    /**
+     * Parse the create result and index the new record before the create lock is released,
+     * so the next duplicate check sees it. Returns the new employee ID.
+     */
+    private String recordCreated(EmploymentRecordRequest request, String result, boolean committed) throws JsonProcessingException {
+        EmploymentRecordResponse response = objectMapper.readValue(result, EmploymentRecordResponse.class);
+
+        logger.info("Successfully created employment record with ID: {}", response.getEmployeeId());
+
+        recordIndexService.recordCreated(request, response.getEmployeeId(), committed);
+
+        return response.getEmployeeId();
+    }
+
+    /**
+     * Track an asynchronous write and re-read the record once the outcome is known, so the
+     * index and read cache reflect the committed state (or drop what was assumed at submit time)
+     */
+    private TransactionStatusDto trackWrite(PendingTransaction pending, String functionName, String employeeId) {
+        TransactionStatusDto status = transactionTracker.track(pending, functionName, employeeId);
+
+        pending.commit().whenComplete((blockNumber, error) -> {
+            ledgerReadCache.invalidate(employeeId);
+            recordIndexService.refreshAsync(employeeId);
+        });
+        return status;
+    }
+
+    /**
+     * Evaluate a per-employee query through the read cache, keyed by the caller's Fabric identity
+     */
+    private <T> T cachedRead(String employeeId, String functionName, Class<T> type) throws Exception {
+        return ledgerReadCache.get(employeeId, functionName, fabricGatewayService.getCurrentIdentityKey(), type,
+                () -> objectMapper.readValue(fabricGatewayService.evaluateTransaction(functionName, employeeId), type));
+    }
+
     /**
      * Convert EmploymentRecordRequest to EmploymentRecordUpdateRequest
      */
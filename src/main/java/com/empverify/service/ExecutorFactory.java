@@ -0,0 +1,60 @@
+package com.empverify.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates the executors used for internal fan-out (batch reads, Fabric calls, hedged reads,
+ * write batching, bulk import, warm-up). With spring.threads.virtual.enabled, which also makes
+ * Tomcat serve requests on virtual threads, these run on virtual threads as well; otherwise on
+ * daemon platform threads. Fixed pools keep their size either way, so the concurrency a pool
+ * allows against the network does not change with the mode, only the cost of blocking does.
+ */
+@Service
+public class ExecutorFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutorFactory.class);
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @PostConstruct
+    public void initialize() {
+        logger.info("Request handling and ledger fan-out use {} threads", virtualThreads ? "virtual" : "platform");
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * At most {@code size} tasks run at once; the rest queue
+     */
+    public ExecutorService newFixedPool(String name, int size) {
+        return Executors.newFixedThreadPool(Math.max(1, size), threadFactory(name));
+    }
+
+    /**
+     * A thread per task; callers bound concurrency themselves
+     */
+    public ExecutorService newUnboundedPool(String name) {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(threadFactory(name));
+        }
+        return Executors.newCachedThreadPool(threadFactory(name));
+    }
+
+    private ThreadFactory threadFactory(String name) {
+        if (virtualThreads) {
+            return Thread.ofVirtual().name(name + "-", 0).factory();
+        }
+        return Thread.ofPlatform().name(name + "-", 0).daemon(true).factory();
+    }
+}
@@ -0,0 +1,392 @@
+package com.empverify.service;
+
+import com.empverify.exception.BlockchainException;
+import com.empverify.exception.FabricUnavailableException;
+import org.hyperledger.fabric.gateway.ContractException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resilience layer for calls to the Fabric network.
+ * <ul>
+ *   <li>Bulkheads: reads and writes have separate concurrency limits, so slow submits cannot
+ *       starve queries and a degraded peer can hold at most that many threads.</li>
+ *   <li>Deadlines: the caller stops waiting after the read or write timeout; the call itself is
+ *       interrupted and keeps its bulkhead permit until it actually returns.</li>
+ *   <li>Circuit breaker: once too many recent calls failed or timed out, calls fail fast until a
+ *       cool-down has passed and a few trial calls succeed. Chaincode errors
+ *       ({@link ContractException}) mean the peers answered and do not count as failures.</li>
+ * </ul>
+ * Refusals and timeouts are reported as {@link FabricUnavailableException}.
+ */
+@Service
+public class FabricCallGuard {
+
+    private static final Logger logger = LoggerFactory.getLogger(FabricCallGuard.class);
+
+    @Value("${fabric.resilience.enabled:true}")
+    private boolean enabled;
+
+    @Value("${fabric.resilience.max-concurrent-reads:64}")
+    private int maxConcurrentReads;
+
+    @Value("${fabric.resilience.max-concurrent-writes:32}")
+    private int maxConcurrentWrites;
+
+    @Value("${fabric.resilience.bulkhead-wait-ms:200}")
+    private long bulkheadWaitMs;
+
+    @Value("${fabric.resilience.read-timeout-seconds:15}")
+    private long readTimeoutSeconds;
+
+    @Value("${fabric.resilience.write-timeout-seconds:60}")
+    private long writeTimeoutSeconds;
+
+    @Value("${fabric.resilience.breaker.window-size:20}")
+    private int windowSize;
+
+    @Value("${fabric.resilience.breaker.minimum-calls:10}")
+    private int minimumCalls;
+
+    @Value("${fabric.resilience.breaker.failure-rate-threshold:50}")
+    private int failureRateThreshold;
+
+    @Value("${fabric.resilience.breaker.open-seconds:30}")
+    private long openSeconds;
+
+    @Value("${fabric.resilience.breaker.half-open-calls:3}")
+    private int halfOpenCalls;
+
+    private final ExecutorFactory executorFactory;
+
+    private Semaphore readPermits;
+    private Semaphore writePermits;
+    private CircuitBreaker breaker;
+    private ExecutorService callExecutor;
+
+    private final AtomicLong bulkheadRejections = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+
+    /**
+     * A blocking Fabric call
+     */
+    @FunctionalInterface
+    public interface LedgerCall<T> {
+        T call() throws Exception;
+    }
+
+    private enum Kind { READ, WRITE }
+
+    @Autowired
+    public FabricCallGuard(ExecutorFactory executorFactory) {
+        this.executorFactory = executorFactory;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        readPermits = new Semaphore(Math.max(1, maxConcurrentReads));
+        writePermits = new Semaphore(Math.max(1, maxConcurrentWrites));
+        breaker = new CircuitBreaker(Math.max(1, windowSize), Math.max(1, minimumCalls), failureRateThreshold,
+                TimeUnit.SECONDS.toNanos(openSeconds), Math.max(1, halfOpenCalls));
+
+        // Unbounded on purpose: concurrency is bounded by the bulkhead permits
+        callExecutor = executorFactory.newUnboundedPool("fabric-call");
+
+        logger.info("Fabric call guard {}: {} reads / {} writes, timeouts {} s / {} s",
+                enabled ? "enabled" : "disabled", maxConcurrentReads, maxConcurrentWrites,
+                readTimeoutSeconds, writeTimeoutSeconds);
+    }
+
+    /**
+     * Run an evaluate (query) under the read bulkhead, read deadline and circuit breaker
+     */
+    public <T> T read(String operation, LedgerCall<T> call) throws Exception {
+        return guard(Kind.READ, operation, call);
+    }
+
+    /**
+     * Run a submit under the write bulkhead, write deadline and circuit breaker.
+     * A write that times out may still be committed later.
+     */
+    public <T> T write(String operation, LedgerCall<T> call) throws Exception {
+        return guard(Kind.WRITE, operation, call);
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("circuit_breaker", breaker.getStatistics());
+        stats.put("reads_in_flight", Math.max(1, maxConcurrentReads) - readPermits.availablePermits());
+        stats.put("max_concurrent_reads", maxConcurrentReads);
+        stats.put("writes_in_flight", Math.max(1, maxConcurrentWrites) - writePermits.availablePermits());
+        stats.put("max_concurrent_writes", maxConcurrentWrites);
+        stats.put("read_timeout_seconds", readTimeoutSeconds);
+        stats.put("write_timeout_seconds", writeTimeoutSeconds);
+        stats.put("bulkhead_rejections", bulkheadRejections.get());
+        stats.put("timeouts", timeouts.get());
+        return stats;
+    }
+
+    private <T> T guard(Kind kind, String operation, LedgerCall<T> call) throws Exception {
+        if (!enabled) {
+            return call.call();
+        }
+
+        long epoch = breaker.tryAcquire();
+        if (epoch < 0) {
+            throw new FabricUnavailableException(String.format(
+                    "circuit breaker open after repeated failures, %s rejected (retry in %d s)",
+                    operation, breaker.secondsUntilRetry()), true);
+        }
+
+        Semaphore permits = kind == Kind.READ ? readPermits : writePermits;
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(bulkheadWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            breaker.onIgnored(epoch);
+            throw new BlockchainException("Interrupted waiting to call " + operation, e);
+        }
+        if (!acquired) {
+            bulkheadRejections.incrementAndGet();
+            breaker.onIgnored(epoch);
+            throw new FabricUnavailableException(String.format(
+                    "too many concurrent ledger %s, %s rejected", kind == Kind.READ ? "reads" : "writes", operation), true);
+        }
+
+        Future<T> future;
+        try {
+            future = callExecutor.submit(() -> {
+                try {
+                    return call.call();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            breaker.onIgnored(epoch);
+            throw e;
+        }
+
+        long timeoutSeconds = kind == Kind.READ ? readTimeoutSeconds : writeTimeoutSeconds;
+        try {
+            T result = future.get(timeoutSeconds, TimeUnit.SECONDS);
+            breaker.onSuccess(epoch);
+            return result;
+
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timeouts.incrementAndGet();
+            breaker.onFailure(epoch);
+            throw new FabricUnavailableException(String.format("%s timed out after %d s%s", operation, timeoutSeconds,
+                    kind == Kind.WRITE ? "; the transaction may still be committed" : ""));
+
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (isChaincodeError(cause)) {
+                breaker.onSuccess(epoch);
+            } else if (cause instanceof IllegalArgumentException) {
+                breaker.onIgnored(epoch);
+            } else {
+                breaker.onFailure(epoch);
+            }
+
+            if (cause instanceof Exception exception) {
+                throw exception;
+            }
+            throw e;
+
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            breaker.onIgnored(epoch);
+            throw new BlockchainException("Interrupted while calling " + operation, e);
+        }
+    }
+
+    /**
+     * The peers executed the chaincode and it rejected the call, so the network itself is healthy
+     */
+    private boolean isChaincodeError(Throwable e) {
+        for (Throwable current = e; current != null; current = current.getCause()) {
+            if (current instanceof ContractException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (callExecutor != null) {
+            callExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Count-based circuit breaker. Every state change starts a new epoch; outcomes of calls
+     * admitted in an earlier epoch are ignored so they cannot skew the current state.
+     */
+    private static final class CircuitBreaker {
+
+        private enum State { CLOSED, OPEN, HALF_OPEN }
+
+        private final boolean[] window;
+        private final int minimumCalls;
+        private final int failureRateThreshold;
+        private final long openNanos;
+        private final int halfOpenCalls;
+
+        // Guarded by this
+        private State state = State.CLOSED;
+        private long epoch = 0;
+        private int windowCount = 0;
+        private int windowNext = 0;
+        private int windowFailures = 0;
+        private long openedAtNanos;
+        private int halfOpenPermits;
+        private int halfOpenSuccesses;
+        private long timesOpened = 0;
+        private long rejections = 0;
+
+        private CircuitBreaker(int windowSize, int minimumCalls, int failureRateThreshold, long openNanos, int halfOpenCalls) {
+            this.window = new boolean[windowSize];
+            this.minimumCalls = Math.min(minimumCalls, windowSize);
+            this.failureRateThreshold = failureRateThreshold;
+            this.openNanos = openNanos;
+            this.halfOpenCalls = halfOpenCalls;
+        }
+
+        /**
+         * Epoch the call is admitted in, or -1 when it is rejected
+         */
+        synchronized long tryAcquire() {
+            if (state == State.OPEN && System.nanoTime() - openedAtNanos >= openNanos) {
+                transition(State.HALF_OPEN);
+                halfOpenPermits = halfOpenCalls;
+                halfOpenSuccesses = 0;
+            }
+
+            switch (state) {
+                case CLOSED:
+                    return epoch;
+                case HALF_OPEN:
+                    if (halfOpenPermits > 0) {
+                        halfOpenPermits--;
+                        return epoch;
+                    }
+                    break;
+                default:
+                    break;
+            }
+
+            rejections++;
+            return -1;
+        }
+
+        synchronized void onSuccess(long callEpoch) {
+            if (callEpoch != epoch) {
+                return;
+            }
+            if (state == State.HALF_OPEN) {
+                if (++halfOpenSuccesses >= halfOpenCalls) {
+                    transition(State.CLOSED);
+                    logger.info("Fabric circuit breaker closed, network calls are succeeding again");
+                }
+            } else if (state == State.CLOSED) {
+                record(false);
+            }
+        }
+
+        synchronized void onFailure(long callEpoch) {
+            if (callEpoch != epoch) {
+                return;
+            }
+            if (state == State.HALF_OPEN) {
+                open();
+            } else if (state == State.CLOSED) {
+                record(true);
+                if (windowCount >= minimumCalls && windowFailures * 100 >= failureRateThreshold * windowCount) {
+                    open();
+                }
+            }
+        }
+
+        /**
+         * The call ended without telling anything about network health; give back a trial slot
+         */
+        synchronized void onIgnored(long callEpoch) {
+            if (callEpoch == epoch && state == State.HALF_OPEN) {
+                halfOpenPermits++;
+            }
+        }
+
+        synchronized long secondsUntilRetry() {
+            long remaining = openNanos - (System.nanoTime() - openedAtNanos);
+            return Math.max(0, TimeUnit.NANOSECONDS.toSeconds(remaining + 999_999_999L));
+        }
+
+        synchronized Map<String, Object> getStatistics() {
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("state", state.name());
+            stats.put("window_calls", windowCount);
+            stats.put("window_failures", windowFailures);
+            stats.put("failure_rate", windowCount > 0 ? (double) windowFailures / windowCount : 0.0);
+            stats.put("failure_rate_threshold", failureRateThreshold / 100.0);
+            stats.put("times_opened", timesOpened);
+            stats.put("rejected_calls", rejections);
+            if (state == State.OPEN) {
+                stats.put("retry_in_seconds", secondsUntilRetry());
+            }
+            return stats;
+        }
+
+        private void record(boolean failure) {
+            if (windowCount == window.length) {
+                if (window[windowNext]) {
+                    windowFailures--;
+                }
+            } else {
+                windowCount++;
+            }
+            window[windowNext] = failure;
+            if (failure) {
+                windowFailures++;
+            }
+            windowNext = (windowNext + 1) % window.length;
+        }
+
+        private void open() {
+            transition(State.OPEN);
+            openedAtNanos = System.nanoTime();
+            timesOpened++;
+            logger.warn("Fabric circuit breaker opened, failing calls fast for {} s",
+                    TimeUnit.NANOSECONDS.toSeconds(openNanos));
+        }
+
+        private void transition(State newState) {
+            state = newState;
+            epoch++;
+            windowCount = 0;
+            windowNext = 0;
+            windowFailures = 0;
+        }
+    }
+}
@@ -2,10 +2,18 @@ package com.empverify.service;
 
 import com.empverify.config.FabricNetworkConfig;
 import com.empverify.exception.BlockchainException;
+import com.empverify.exception.FabricUnavailableException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.hyperledger.fabric.gateway.*;
+import org.hyperledger.fabric.gateway.spi.CommitListener;
+import org.hyperledger.fabric.gateway.spi.PeerDisconnectEvent;
+import org.hyperledger.fabric.sdk.BlockEvent;
+import org.hyperledger.fabric.sdk.Peer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
@@ -13,10 +21,20 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import jakarta.servlet.http.HttpServletRequest;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 @Service
 public class FabricGatewayService {
@@ -25,149 +43,470 @@ public class FabricGatewayService {
 
     private final FabricNetworkConfig config;
     private final IdentityManagerService identityManager;
+    private final ObjectMapper objectMapper;
+    private final GatewayPool gatewayPool;
+    private final FabricCallGuard callGuard;
+    private final PeerReadRouter peerReadRouter;
+    private final ExecutorFactory executorFactory;
 
-    // Cache of gateways per API key to avoid recreating connections
-    private final ConcurrentHashMap<String, Gateway> gatewayCache = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<String, Network> networkCache = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<String, Contract> contractCache = new ConcurrentHashMap<>();
+    // Leases held open by registered contract listeners, released when the listener is removed
+    private final ConcurrentHashMap<Consumer<ContractEvent>, GatewayPool.Lease> listenerLeases = new ConcurrentHashMap<>();
+
+    // Batched reads: optional multi-get chaincode function, otherwise bounded parallel fan-out
+    @Value("${fabric.batch.multi-get-function:}")
+    private String multiGetFunction;
+
+    @Value("${fabric.batch.page-size:100}")
+    private int batchPageSize;
+
+    @Value("${fabric.batch.parallelism:8}")
+    private int batchParallelism;
+
+    // Asynchronous submit: how long to wait for a commit event before reporting failure
+    @Value("${fabric.async.commit-timeout-seconds:300}")
+    private long commitTimeoutSeconds;
+
+    // Identical concurrent evaluates share one ledger call
+    @Value("${fabric.read-coalescing.enabled:true}")
+    private boolean readCoalescingEnabled;
+
+    private final SingleFlight<ReadKey, String> coalescedReads = new SingleFlight<>();
+    private final AtomicLong writeGeneration = new AtomicLong();
+
+    private record ReadKey(String identity, String functionName, List<String> args, long writeGeneration) {
+    }
+
+    private volatile boolean multiGetSupported = true;
+    private ExecutorService batchReadExecutor;
 
     @Autowired
-    public FabricGatewayService(FabricNetworkConfig config, IdentityManagerService identityManager) {
+    public FabricGatewayService(FabricNetworkConfig config, IdentityManagerService identityManager,
+                                ObjectMapper objectMapper, GatewayPool gatewayPool,
+                                FabricCallGuard callGuard, PeerReadRouter peerReadRouter,
+                                ExecutorFactory executorFactory) {
         this.config = config;
         this.identityManager = identityManager;
+        this.objectMapper = objectMapper;
+        this.gatewayPool = gatewayPool;
+        this.callGuard = callGuard;
+        this.peerReadRouter = peerReadRouter;
+        this.executorFactory = executorFactory;
     }
 
     @PostConstruct
     public void initializeService() {
+        batchReadExecutor = executorFactory.newFixedPool("ledger-batch-read", batchParallelism);
+
         logger.info("Enhanced Fabric Gateway Service initialized");
         logger.info("Channel: {}, Contract: {}", config.channelName(), config.contractName());
+        logger.info("Batched reads: {} (page size {}, parallelism {})",
+                hasMultiGetFunction() ? "multi-get via " + multiGetFunction : "parallel fan-out",
+                batchPageSize, batchParallelism);
     }
 
     /**
-     * Get gateway for current API key context
+     * Submit transaction using identity based on API key
      */
-    private Gateway getGatewayForCurrentContext() {
-        String apiKey = getCurrentApiKey();
-
-        return gatewayCache.computeIfAbsent(apiKey, key -> {
-            try {
-                logger.debug("Creating new gateway connection for API key: {}", maskApiKey(key));
+    public String submitTransaction(String functionName, String... args) {
+        return submitTransactionForApiKey(getCurrentApiKey(), functionName, args);
+    }
 
-                Identity identity = identityManager.getIdentityForApiKey(key);
-                String username = identityManager.getUsernameForApiKey(key);
+    /**
+     * Submit transaction using the identity mapped to an explicit API key.
+     * Used by components that submit on behalf of a request from another thread.
+     */
+    public String submitTransactionForApiKey(String apiKey, String functionName, String... args) {
+        try {
+            String username = identityManager.getUsernameForApiKey(apiKey);
 
-                Path connectionProfilePath = Paths.get(config.getFullConnectionProfilePath());
+            logger.debug("Submitting transaction: {} as user: {} (API key: {})",
+                    functionName, username, maskApiKey(apiKey));
 
-                Gateway gateway = Gateway.createBuilder()
-                        .identity(identity)
-                        .networkConfig(connectionProfilePath)
-                        .discovery(true)
-                        .connect();
+            byte[] result = callGuard.write(functionName, () -> {
+                try (GatewayPool.Lease lease = gatewayPool.acquire(apiKey)) {
+                    return lease.contract().submitTransaction(functionName, args);
+                }
+            });
+            String response = new String(result);
 
-                logger.info("Created gateway connection for user: {} (API key: {})", username, maskApiKey(key));
-                return gateway;
+            logger.debug("Transaction submitted successfully: {} by user: {}", functionName, username);
+            return response;
 
-            } catch (Exception e) {
-                logger.error("Failed to create gateway for API key: {}", maskApiKey(key), e);
-                throw new BlockchainException("Failed to create gateway connection", e);
-            }
-        });
+        } catch (FabricUnavailableException e) {
+            logger.warn("Transaction {} not submitted: {}", functionName, e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            logger.error("Failed to submit transaction: {}", functionName, e);
+            throw new BlockchainException("Failed to submit transaction: " + functionName, e);
+        } finally {
+            writeGeneration.incrementAndGet();
+        }
     }
 
     /**
-     * Get network for current API key context
+     * Submit a transaction and return once it has been endorsed and accepted by the orderer,
+     * without waiting for the commit. The commit listener is registered before submitting so
+     * the commit event cannot be missed; the returned future tracks the commit outcome.
      */
-    private Network getNetworkForCurrentContext() {
-        String apiKey = getCurrentApiKey();
+    public PendingTransaction submitTransactionAsync(String functionName, String... args) {
+        GatewayPool.Lease lease = null;
+        Network network = null;
+        CommitListener commitListener = null;
 
-        return networkCache.computeIfAbsent(apiKey, key -> {
-            try {
-                Gateway gateway = getGatewayForCurrentContext();
-                Network network = gateway.getNetwork(config.channelName());
+        try {
+            String apiKey = getCurrentApiKey();
+            String username = identityManager.getUsernameForApiKey(apiKey);
+
+            logger.debug("Submitting transaction asynchronously: {} as user: {} (API key: {})",
+                    functionName, username, maskApiKey(apiKey));
 
-                logger.debug("Retrieved network for channel: {} (API key: {})", config.channelName(), maskApiKey(key));
-                return network;
+            // The lease keeps the connection, and with it the commit listener, open until the commit completes
+            lease = gatewayPool.acquire(apiKey);
+            network = lease.network();
+            Transaction transaction = lease.contract().createTransaction(functionName)
+                    .setCommitHandler(DefaultCommitHandlers.NONE);
+            String transactionId = transaction.getTransactionId();
+
+            CompletableFuture<Long> commit = new CompletableFuture<>();
+            commitListener = new TransactionCommitListener(transactionId, commit);
+            network.addCommitListener(commitListener,
+                    network.getChannel().getPeers(EnumSet.of(Peer.PeerRole.EVENT_SOURCE)), transactionId);
+
+            byte[] result = callGuard.write(functionName, () -> transaction.submit(args));
+
+            Network listenerNetwork = network;
+            CommitListener listener = commitListener;
+            GatewayPool.Lease commitLease = lease;
+            commit.orTimeout(commitTimeoutSeconds, TimeUnit.SECONDS)
+                    .whenComplete((blockNumber, error) -> {
+                        writeGeneration.incrementAndGet();
+                        listenerNetwork.removeCommitListener(listener);
+                        commitLease.close();
+                    });
+
+            logger.debug("Transaction {} endorsed and sent for ordering: {} by user: {}",
+                    transactionId, functionName, username);
+            return new PendingTransaction(transactionId, new String(result), commit);
 
-            } catch (Exception e) {
-                logger.error("Failed to get network for API key: {}", maskApiKey(key), e);
-                throw new BlockchainException("Failed to get network", e);
+        } catch (Exception e) {
+            if (network != null && commitListener != null) {
+                network.removeCommitListener(commitListener);
+            }
+            if (lease != null) {
+                lease.close();
             }
-        });
+            if (e instanceof FabricUnavailableException unavailable) {
+                logger.warn("Transaction {} not submitted: {}", functionName, unavailable.getMessage());
+                throw unavailable;
+            }
+            logger.error("Failed to submit transaction: {}", functionName, e);
+            throw new BlockchainException("Failed to submit transaction: " + functionName, e);
+        }
     }
 
     /**
-     * Get contract for current API key context
+     * Completes a commit future from the first peer that reports the transaction
      */
-    private Contract getContractForCurrentContext() {
-        String apiKey = getCurrentApiKey();
+    private static final class TransactionCommitListener implements CommitListener {
 
-        return contractCache.computeIfAbsent(apiKey, key -> {
-            try {
-                Network network = getNetworkForCurrentContext();
-                Contract contract = network.getContract(config.contractName());
+        private final String transactionId;
+        private final CompletableFuture<Long> commit;
 
-                logger.debug("Retrieved contract: {} (API key: {})", config.contractName(), maskApiKey(key));
-                return contract;
+        private TransactionCommitListener(String transactionId, CompletableFuture<Long> commit) {
+            this.transactionId = transactionId;
+            this.commit = commit;
+        }
 
-            } catch (Exception e) {
-                logger.error("Failed to get contract for API key: {}", maskApiKey(key), e);
-                throw new BlockchainException("Failed to get contract", e);
+        @Override
+        public void acceptCommit(BlockEvent.TransactionEvent transactionEvent) {
+            if (transactionEvent.isValid()) {
+                commit.complete(transactionEvent.getBlockEvent().getBlockNumber());
+            } else {
+                commit.completeExceptionally(new BlockchainException(String.format(
+                        "Transaction %s failed validation with code %d",
+                        transactionId, transactionEvent.getValidationCode())));
             }
-        });
+        }
+
+        @Override
+        public void acceptDisconnect(PeerDisconnectEvent disconnectEvent) {
+            // Other event peers may still deliver the commit; the timeout covers the rest
+            logger.warn("Peer {} disconnected while waiting for commit of transaction {}",
+                    disconnectEvent.getPeer() != null ? disconnectEvent.getPeer().getName() : "unknown", transactionId);
+        }
     }
 
     /**
-     * Submit transaction using identity based on API key
+     * Evaluate transaction using identity based on API key
      */
-    public String submitTransaction(String functionName, String... args) {
-        try {
-            String apiKey = getCurrentApiKey();
-            String username = identityManager.getUsernameForApiKey(apiKey);
-
-            logger.debug("Submitting transaction: {} as user: {} (API key: {})",
-                    functionName, username, maskApiKey(apiKey));
-
-            Contract contract = getContractForCurrentContext();
-            byte[] result = contract.submitTransaction(functionName, args);
-            String response = new String(result);
+    public String evaluateTransaction(String functionName, String... args) {
+        return evaluateTransactionForApiKey(getCurrentApiKey(), functionName, args);
+    }
 
-            logger.debug("Transaction submitted successfully: {} by user: {}", functionName, username);
-            return response;
+    /**
+     * Evaluate transaction using the identity mapped to an explicit API key.
+     * Used by background components that run outside of a request context.
+     * Concurrent identical evaluates by the same identity share a single ledger call.
+     */
+    public String evaluateTransactionForApiKey(String apiKey, String functionName, String... args) {
+        if (!readCoalescingEnabled) {
+            return evaluateOnLedger(apiKey, functionName, args);
+        }
 
+        // Reads started before the latest local write completed are not joined, so a caller never
+        // receives a result older than its own write
+        ReadKey key = new ReadKey(readIdentity(apiKey), functionName, Arrays.asList(args), writeGeneration.get());
+        try {
+            return coalescedReads.execute(key, () -> evaluateOnLedger(apiKey, functionName, args));
+        } catch (RuntimeException e) {
+            throw e;
         } catch (Exception e) {
-            logger.error("Failed to submit transaction: {}", functionName, e);
-            throw new BlockchainException("Failed to submit transaction: " + functionName, e);
+            throw new BlockchainException("Failed to evaluate transaction: " + functionName, e);
         }
     }
 
-    /**
-     * Evaluate transaction using identity based on API key
-     */
-    public String evaluateTransaction(String functionName, String... args) {
+    private String evaluateOnLedger(String apiKey, String functionName, String... args) {
         try {
-            String apiKey = getCurrentApiKey();
             String username = identityManager.getUsernameForApiKey(apiKey);
 
             logger.debug("Evaluating transaction: {} as user: {} (API key: {})",
                     functionName, username, maskApiKey(apiKey));
 
-            Contract contract = getContractForCurrentContext();
-            byte[] result = contract.evaluateTransaction(functionName, args);
+            byte[] result = callGuard.read(functionName, () -> {
+                try (GatewayPool.Lease lease = gatewayPool.acquire(apiKey)) {
+                    return peerReadRouter.evaluate(lease.contract(), lease.network(), functionName, args);
+                }
+            });
             String response = new String(result);
 
             logger.debug("Transaction evaluated successfully: {} by user: {}", functionName, username);
             return response;
 
+        } catch (FabricUnavailableException e) {
+            logger.warn("Transaction {} not evaluated: {}", functionName, e.getMessage());
+            throw e;
         } catch (Exception e) {
             logger.error("Failed to evaluate transaction: {}", functionName, e);
             throw new BlockchainException("Failed to evaluate transaction: " + functionName, e);
         }
     }
 
+    /**
+     * Fetch many records at once using the current API key context.
+     * Returns raw record JSON keyed by employee ID, in request order; missing records are omitted.
+     */
+    public Map<String, String> getRecordsBatch(List<String> employeeIds) {
+        return getRecordsBatchForApiKey(getCurrentApiKey(), employeeIds);
+    }
+
+    /**
+     * Fetch a contiguous EMP-YYYY-NNNNNN range (inclusive) using the current API key context
+     */
+    public Map<String, String> getRecordsBatch(int year, int fromCounter, int toCounter) {
+        return getRecordsBatch(employeeIdRange(year, fromCounter, toCounter));
+    }
+
+    /**
+     * Fetch many records at once using the identity mapped to an explicit API key.
+     * Uses the configured multi-get chaincode function one page at a time when available,
+     * otherwise evaluates getRecord for each ID with bounded parallelism.
+     */
+    public Map<String, String> getRecordsBatchForApiKey(String apiKey, List<String> employeeIds) {
+        Map<String, String> records = new LinkedHashMap<>();
+        if (employeeIds == null || employeeIds.isEmpty()) {
+            return records;
+        }
+
+        // One lease for the whole batch; fan-out workers share its contract
+        try (GatewayPool.Lease lease = gatewayPool.acquire(apiKey)) {
+            readPages(lease, employeeIds, records);
+        }
+
+        logger.debug("Batch read returned {} of {} requested records", records.size(), employeeIds.size());
+        return records;
+    }
+
+    private void readPages(GatewayPool.Lease lease, List<String> employeeIds, Map<String, String> records) {
+        int pageSize = Math.max(1, batchPageSize);
+
+        for (int start = 0; start < employeeIds.size(); start += pageSize) {
+            List<String> page = employeeIds.subList(start, Math.min(start + pageSize, employeeIds.size()));
+
+            if (hasMultiGetFunction() && multiGetSupported) {
+                try {
+                    records.putAll(multiGetPage(lease, page));
+                    continue;
+                } catch (FabricUnavailableException e) {
+                    throw e;
+                } catch (Exception e) {
+                    if (isUnknownFunction(e)) {
+                        multiGetSupported = false;
+                        logger.warn("Chaincode has no multi-get function '{}', using parallel reads: {}",
+                                multiGetFunction, e.getMessage());
+                    } else {
+                        // Transient failures only send this page through parallel reads
+                        logger.warn("Multi-get function '{}' failed, reading this page in parallel: {}",
+                                multiGetFunction, e.getMessage());
+                    }
+                }
+            }
+
+            records.putAll(fanOutPage(lease, page));
+        }
+    }
+
+    /**
+     * Build the list of employee IDs for a counter range (inclusive)
+     */
+    public static List<String> employeeIdRange(int year, int fromCounter, int toCounter) {
+        List<String> ids = new ArrayList<>(Math.max(0, toCounter - fromCounter + 1));
+        for (int counter = Math.max(1, fromCounter); counter <= toCounter; counter++) {
+            ids.add(String.format("EMP-%d-%06d", year, counter));
+        }
+        return ids;
+    }
+
+    private boolean isUnknownFunction(Throwable e) {
+        for (Throwable current = e; current != null; current = current.getCause()) {
+            String message = current.getMessage();
+            if (message != null && message.contains("does not exist")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasMultiGetFunction() {
+        return multiGetFunction != null && !multiGetFunction.isBlank();
+    }
+
+    /**
+     * One round trip for a whole page. The chaincode receives a JSON array of IDs and may
+     * answer with either an array of records or an object keyed by employee ID.
+     */
+    private Map<String, String> multiGetPage(GatewayPool.Lease lease, List<String> page) throws Exception {
+        String ids = objectMapper.writeValueAsString(page);
+        byte[] result = callGuard.read(multiGetFunction,
+                () -> peerReadRouter.evaluate(lease.contract(), lease.network(), multiGetFunction, ids));
+        JsonNode json = objectMapper.readTree(new String(result));
+
+        Map<String, String> records = new LinkedHashMap<>();
+        if (json == null || json.isNull()) {
+            return records;
+        }
+
+        if (json.isArray()) {
+            for (JsonNode record : json) {
+                if (record != null && record.hasNonNull("employee_id")) {
+                    records.put(record.get("employee_id").asText(), record.toString());
+                }
+            }
+        } else if (json.isObject()) {
+            Iterator<String> fieldNames = json.fieldNames();
+            while (fieldNames.hasNext()) {
+                String employeeId = fieldNames.next();
+                JsonNode record = json.get(employeeId);
+                if (record != null && !record.isNull()) {
+                    records.put(employeeId, record.toString());
+                }
+            }
+        }
+
+        return records;
+    }
+
+    private Map<String, String> fanOutPage(GatewayPool.Lease lease, List<String> page) {
+        List<CompletableFuture<String>> futures = new ArrayList<>(page.size());
+        for (String employeeId : page) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return new String(callGuard.read("getRecord",
+                            () -> peerReadRouter.evaluate(lease.contract(), lease.network(), "getRecord", employeeId)));
+                } catch (FabricUnavailableException e) {
+                    // Not a missing record: the whole batch fails rather than returning a partial result
+                    throw e;
+                } catch (Exception e) {
+                    // Record not found or unreadable - omitted from the result
+                    logger.trace("Record {} not returned in batch read: {}", employeeId, e.getMessage());
+                    return null;
+                }
+            }, batchReadExecutor));
+        }
+
+        Map<String, String> records = new LinkedHashMap<>();
+        for (int i = 0; i < page.size(); i++) {
+            String record;
+            try {
+                record = futures.get(i).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof FabricUnavailableException unavailable) {
+                    throw unavailable;
+                }
+                throw e;
+            }
+            if (record != null) {
+                records.put(page.get(i), record);
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Register a listener for chaincode events emitted by the employment records contract
+     */
+    public Consumer<ContractEvent> addContractListener(String apiKey, Consumer<ContractEvent> listener) {
+        return addContractListener(apiKey, null, listener);
+    }
+
+    /**
+     * Register a contract listener that first replays events from startBlock (inclusive), when given,
+     * then continues with new ones
+     */
+    public Consumer<ContractEvent> addContractListener(String apiKey, Long startBlock, Consumer<ContractEvent> listener) {
+        GatewayPool.Lease lease = gatewayPool.acquire(apiKey);
+        try {
+            Consumer<ContractEvent> registered = startBlock != null
+                    ? lease.contract().addContractListener(startBlock, listener)
+                    : lease.contract().addContractListener(listener);
+            listenerLeases.put(registered, lease);
+
+            logger.info("Registered contract event listener on {}{} (API key: {})", config.contractName(),
+                    startBlock != null ? " from block " + startBlock : "", maskApiKey(apiKey));
+            return registered;
+
+        } catch (Exception e) {
+            lease.close();
+            logger.error("Failed to register contract listener for API key: {}", maskApiKey(apiKey), e);
+            throw new BlockchainException("Failed to register contract listener", e);
+        }
+    }
+
+    /**
+     * Current channel height: the number of the next block to be committed
+     */
+    public long getBlockHeight(String apiKey) {
+        try (GatewayPool.Lease lease = gatewayPool.acquire(apiKey)) {
+            return lease.network().getChannel().queryBlockchainInfo().getHeight();
+        } catch (Exception e) {
+            throw new BlockchainException("Failed to query channel height", e);
+        }
+    }
+
+    /**
+     * Remove a previously registered contract event listener
+     */
+    public void removeContractListener(String apiKey, Consumer<ContractEvent> listener) {
+        GatewayPool.Lease lease = listener != null ? listenerLeases.remove(listener) : null;
+        if (lease != null) {
+            lease.contract().removeContractListener(listener);
+            lease.close();
+        }
+    }
+
     /**
      * Get current API key from request context
      */
-    private String getCurrentApiKey() {
+    public String getCurrentApiKey() {
         try {
             ServletRequestAttributes requestAttributes = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
             HttpServletRequest request = requestAttributes.getRequest();
@@ -190,13 +529,11 @@ public class FabricGatewayService {
     }
 
     /**
-     * Check if service is connected (checks if any gateway exists)
+     * Check if service is connected (checks if the caller's identity has an open gateway)
      */
     public boolean isConnected() {
         try {
-            String apiKey = getCurrentApiKey();
-            Gateway gateway = gatewayCache.get(apiKey);
-            return gateway != null;
+            return gatewayPool.isOpen(getCurrentApiKey());
         } catch (Exception e) {
             return false;
         }
@@ -214,6 +551,23 @@ public class FabricGatewayService {
         }
     }
 
+    /**
+     * Fabric identity (user@msp) behind the current request, or null outside a valid request
+     */
+    public String getCurrentIdentityKey() {
+        try {
+            var userIdentity = identityManager.getUserInfoForApiKey(getCurrentApiKey());
+            return userIdentity != null ? userIdentity.userName() + "@" + userIdentity.mspId() : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private String readIdentity(String apiKey) {
+        var userIdentity = identityManager.getUserInfoForApiKey(apiKey);
+        return userIdentity != null ? userIdentity.userName() + "@" + userIdentity.mspId() : apiKey;
+    }
+
     /**
      * Get current user's organization
      */
@@ -255,9 +609,18 @@ public class FabricGatewayService {
      */
     public java.util.Map<String, Object> getConnectionStatistics() {
         java.util.Map<String, Object> stats = new java.util.HashMap<>();
-        stats.put("active_gateways", gatewayCache.size());
-        stats.put("active_networks", networkCache.size());
-        stats.put("active_contracts", contractCache.size());
+        Map<String, Object> poolStats = gatewayPool.getStatistics();
+        stats.put("active_gateways", poolStats.get("open_connections"));
+        stats.put("gateway_pool", poolStats);
+
+        Map<String, Object> coalescing = new java.util.HashMap<>();
+        coalescing.put("enabled", readCoalescingEnabled);
+        coalescing.put("ledger_reads", coalescedReads.executedCount());
+        coalescing.put("shared_reads", coalescedReads.sharedCount());
+        coalescing.put("in_flight", coalescedReads.inFlightCount());
+        stats.put("read_coalescing", coalescing);
+        stats.put("resilience", callGuard.getStatistics());
+        stats.put("read_strategy", peerReadRouter.getStatistics());
         stats.put("identity_cache_status", identityManager.getIdentityCacheStatus());
         return stats;
     }
@@ -268,18 +631,8 @@ public class FabricGatewayService {
     public void refreshConnection(String apiKey) {
         logger.info("Refreshing connection for API key: {}", maskApiKey(apiKey));
 
-        // Close and remove cached connections
-        Gateway gateway = gatewayCache.remove(apiKey);
-        if (gateway != null) {
-            try {
-                gateway.close();
-            } catch (Exception e) {
-                logger.warn("Error closing gateway during refresh", e);
-            }
-        }
-
-        networkCache.remove(apiKey);
-        contractCache.remove(apiKey);
+        // Close the pooled connection for this identity; the next request opens a fresh one
+        gatewayPool.evict(apiKey);
 
         logger.info("Connection refreshed for API key: {}", maskApiKey(apiKey));
     }
@@ -288,19 +641,13 @@ public class FabricGatewayService {
     public void cleanup() {
         logger.info("Cleaning up Enhanced Fabric Gateway Service");
 
-        // Close all gateway connections
-        for (var entry : gatewayCache.entrySet()) {
-            try {
-                entry.getValue().close();
-                logger.debug("Closed gateway for API key: {}", maskApiKey(entry.getKey()));
-            } catch (Exception e) {
-                logger.warn("Error closing gateway for API key: {}", maskApiKey(entry.getKey()), e);
-            }
-        }
+        // Gateway connections are closed by the pool
+        listenerLeases.values().forEach(GatewayPool.Lease::close);
+        listenerLeases.clear();
 
-        gatewayCache.clear();
-        networkCache.clear();
-        contractCache.clear();
+        if (batchReadExecutor != null) {
+            batchReadExecutor.shutdownNow();
+        }
 
         logger.info("Enhanced Fabric Gateway Service cleanup completed");
     }
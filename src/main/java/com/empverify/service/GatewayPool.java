@@ -0,0 +1,395 @@
+package com.empverify.service;
+
+import com.empverify.config.FabricNetworkConfig;
+import com.empverify.exception.BlockchainException;
+import org.hyperledger.fabric.gateway.Contract;
+import org.hyperledger.fabric.gateway.Gateway;
+import org.hyperledger.fabric.gateway.Identity;
+import org.hyperledger.fabric.gateway.Network;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded pool of gateway connections keyed by Fabric identity (MSP ID + user name) rather than
+ * by API key, so every API key mapped to the same ledger identity shares one gateway, its gRPC
+ * channels, discovery results and contract handle. Connections are opened on first use (see
+ * {@link GatewayWarmup} for startup), closed after the idle timeout, and the least recently used idle connection
+ * makes room when the pool is full. A connection is never closed while it has leases out.
+ */
+@Service
+public class GatewayPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(GatewayPool.class);
+
+    private final FabricNetworkConfig config;
+    private final IdentityManagerService identityManager;
+
+    @Value("${fabric.gateway-pool.max-connections:32}")
+    private int maxConnections;
+
+    @Value("${fabric.gateway-pool.idle-timeout-seconds:600}")
+    private long idleTimeoutSeconds;
+
+    private final ConcurrentHashMap<ConnectionKey, PooledConnection> connections = new ConcurrentHashMap<>();
+
+    // Held to check capacity and add a connection as one step, so concurrent new identities cannot overfill the pool
+    private final ReentrantLock capacityLock = new ReentrantLock();
+
+    private final AtomicLong opened = new AtomicLong();
+    private final AtomicLong reused = new AtomicLong();
+    private final AtomicLong idleEvictions = new AtomicLong();
+    private final AtomicLong capacityEvictions = new AtomicLong();
+
+    private ScheduledExecutorService maintenanceExecutor;
+
+    private record ConnectionKey(String mspId, String userName) {
+        @Override
+        public String toString() {
+            return userName + "@" + mspId;
+        }
+    }
+
+    /**
+     * A lease on a pooled connection. The connection stays open at least until the lease is
+     * closed; closing it more than once has no further effect.
+     */
+    public static final class Lease implements AutoCloseable {
+
+        private final PooledConnection connection;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Lease(PooledConnection connection) {
+            this.connection = connection;
+        }
+
+        public Contract contract() {
+            return connection.contract;
+        }
+
+        public Network network() {
+            return connection.network;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                connection.release();
+            }
+        }
+    }
+
+    private static final class PooledConnection {
+
+        private final ConnectionKey key;
+        private final AtomicInteger leases = new AtomicInteger();
+        private volatile long lastUsedNanos = System.nanoTime();
+        private volatile long openedAtMillis;
+
+        // A lock rather than synchronized: opening a gateway blocks on the network and must not pin a virtual thread
+        private final ReentrantLock lock = new ReentrantLock();
+
+        // Guarded by lock
+        private Gateway gateway;
+        private volatile Network network;
+        private volatile Contract contract;
+        private boolean closed;
+
+        private PooledConnection(ConnectionKey key) {
+            this.key = key;
+        }
+
+        private void release() {
+            lastUsedNanos = System.nanoTime();
+            leases.decrementAndGet();
+        }
+
+        private boolean isOpen() {
+            return contract != null;
+        }
+    }
+
+    @Autowired
+    public GatewayPool(FabricNetworkConfig config, IdentityManagerService identityManager) {
+        this.config = config;
+        this.identityManager = identityManager;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        maintenanceExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "gateway-pool");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long sweepSeconds = Math.max(1, Math.min(60, idleTimeoutSeconds / 2));
+        maintenanceExecutor.scheduleWithFixedDelay(this::evictIdle, sweepSeconds, sweepSeconds, TimeUnit.SECONDS);
+
+        logger.info("Gateway pool initialized: max {} connections, idle timeout {} s", maxConnections, idleTimeoutSeconds);
+    }
+
+    // ==================== PUBLIC API ====================
+
+    /**
+     * Lease the connection for the identity behind an API key, opening it if needed.
+     * Callers must close the lease when they no longer use the contract or network.
+     */
+    public Lease acquire(String apiKey) {
+        ConnectionKey key = keyFor(apiKey);
+
+        while (true) {
+            PooledConnection connection = connections.get(key);
+            if (connection == null) {
+                connection = addConnection(key);
+            }
+
+            // Only callers for the same identity wait while a connection is being opened
+            connection.lock.lock();
+            try {
+                if (connection.closed) {
+                    continue;
+                }
+
+                connection.leases.incrementAndGet();
+                if (connection.isOpen()) {
+                    reused.incrementAndGet();
+                } else {
+                    try {
+                        open(connection, apiKey);
+                    } catch (RuntimeException e) {
+                        connection.leases.decrementAndGet();
+                        connection.closed = true;
+                        connections.remove(key, connection);
+                        throw e;
+                    }
+                }
+                connection.lastUsedNanos = System.nanoTime();
+                return new Lease(connection);
+            } finally {
+                connection.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Whether the identity behind an API key currently has an open connection
+     */
+    public boolean isOpen(String apiKey) {
+        PooledConnection connection = connections.get(keyFor(apiKey));
+        return connection != null && connection.isOpen();
+    }
+
+    /**
+     * Fabric identity (user@msp) whose connection serves an API key
+     */
+    public String identityFor(String apiKey) {
+        return keyFor(apiKey).toString();
+    }
+
+    /**
+     * Close the connection for the identity behind an API key, regardless of leases.
+     * The next acquire opens a fresh one.
+     */
+    public void evict(String apiKey) {
+        PooledConnection connection = connections.get(keyFor(apiKey));
+        if (connection != null) {
+            close(connection, "refresh");
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        List<Map<String, Object>> open = new ArrayList<>();
+        for (PooledConnection connection : connections.values()) {
+            if (!connection.isOpen()) {
+                continue;
+            }
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("identity", connection.key.toString());
+            entry.put("leases", connection.leases.get());
+            entry.put("idle_seconds", TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - connection.lastUsedNanos));
+            entry.put("opened_at", connection.openedAtMillis);
+            open.add(entry);
+        }
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("open_connections", open.size());
+        stats.put("max_connections", maxConnections);
+        stats.put("idle_timeout_seconds", idleTimeoutSeconds);
+        stats.put("connections", open);
+        stats.put("opened", opened.get());
+        stats.put("reused", reused.get());
+        stats.put("idle_evictions", idleEvictions.get());
+        stats.put("capacity_evictions", capacityEvictions.get());
+        return stats;
+    }
+
+    // ==================== CONNECTION LIFECYCLE ====================
+
+    private void open(PooledConnection connection, String apiKey) {
+        try {
+            logger.debug("Opening gateway connection for {}", connection.key);
+
+            Identity identity = identityManager.getIdentityForApiKey(apiKey);
+
+            Gateway gateway = Gateway.createBuilder()
+                    .identity(identity)
+                    .networkConfig(Paths.get(config.getFullConnectionProfilePath()))
+                    .discovery(true)
+                    .connect();
+
+            try {
+                Network network = gateway.getNetwork(config.channelName());
+                Contract contract = network.getContract(config.contractName());
+
+                connection.gateway = gateway;
+                connection.network = network;
+                connection.contract = contract;
+            } catch (RuntimeException e) {
+                gateway.close();
+                throw e;
+            }
+
+            connection.openedAtMillis = System.currentTimeMillis();
+            opened.incrementAndGet();
+            logger.info("Opened gateway connection for {} ({} open)", connection.key, countOpen());
+
+        } catch (Exception e) {
+            logger.error("Failed to open gateway connection for {}", connection.key, e);
+            throw new BlockchainException("Failed to create gateway connection", e);
+        }
+    }
+
+    private void close(PooledConnection connection, String reason) {
+        Gateway gateway;
+        connection.lock.lock();
+        try {
+            if (connection.closed) {
+                return;
+            }
+            connection.closed = true;
+            connections.remove(connection.key, connection);
+            gateway = connection.gateway;
+        } finally {
+            connection.lock.unlock();
+        }
+
+        if (gateway != null) {
+            try {
+                gateway.close();
+                logger.info("Closed gateway connection for {} ({})", connection.key, reason);
+            } catch (Exception e) {
+                logger.warn("Error closing gateway connection for {}", connection.key, e);
+            }
+        }
+    }
+
+    /**
+     * Close connections that have been idle past the timeout and have no leases out
+     */
+    private void evictIdle() {
+        long idleNanos = TimeUnit.SECONDS.toNanos(idleTimeoutSeconds);
+        long now = System.nanoTime();
+
+        for (PooledConnection connection : connections.values()) {
+            if (connection.leases.get() == 0 && now - connection.lastUsedNanos > idleNanos
+                    && closeIfUnused(connection, "idle")) {
+                idleEvictions.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * The connection for a key, added after making room if there is none yet
+     */
+    private PooledConnection addConnection(ConnectionKey key) {
+        capacityLock.lock();
+        try {
+            PooledConnection connection = connections.get(key);
+            if (connection == null) {
+                makeRoom();
+                connection = new PooledConnection(key);
+                connections.put(key, connection);
+            }
+            return connection;
+        } finally {
+            capacityLock.unlock();
+        }
+    }
+
+    /**
+     * At capacity, close the least recently used connection that has no leases out.
+     * If every connection is in use the pool is exhausted.
+     */
+    private void makeRoom() {
+        while (connections.size() >= Math.max(1, maxConnections)) {
+            PooledConnection leastRecentlyUsed = null;
+            for (PooledConnection connection : connections.values()) {
+                if (connection.leases.get() == 0
+                        && (leastRecentlyUsed == null || connection.lastUsedNanos - leastRecentlyUsed.lastUsedNanos < 0)) {
+                    leastRecentlyUsed = connection;
+                }
+            }
+
+            if (leastRecentlyUsed == null) {
+                throw new BlockchainException("Gateway pool exhausted: all " + maxConnections + " connections are in use");
+            }
+            if (closeIfUnused(leastRecentlyUsed, "pool full")) {
+                capacityEvictions.incrementAndGet();
+            }
+        }
+    }
+
+    private boolean closeIfUnused(PooledConnection connection, String reason) {
+        connection.lock.lock();
+        try {
+            if (connection.closed || connection.leases.get() > 0) {
+                return false;
+            }
+            close(connection, reason);
+            return true;
+        } finally {
+            connection.lock.unlock();
+        }
+    }
+
+    private ConnectionKey keyFor(String apiKey) {
+        var userIdentity = identityManager.getUserInfoForApiKey(apiKey);
+        if (userIdentity == null) {
+            throw new IllegalArgumentException("No identity mapped to API key");
+        }
+        return new ConnectionKey(userIdentity.mspId(), userIdentity.userName());
+    }
+
+    private long countOpen() {
+        return connections.values().stream().filter(PooledConnection::isOpen).count();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (maintenanceExecutor != null) {
+            maintenanceExecutor.shutdownNow();
+        }
+        for (PooledConnection connection : new ArrayList<>(connections.values())) {
+            close(connection, "shutdown");
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.empverify.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens a pooled gateway for every configured identity as soon as identities are loaded, in
+ * parallel and while the rest of the application is still starting, and runs one cheap evaluate
+ * through each so discovery and the first endorsement round trip are done before traffic arrives.
+ * Reported as the "gatewayWarmup" health indicator, which is part of the readiness group: the
+ * instance is out of service until warm-up has finished or timed out.
+ */
+@Service
+public class GatewayWarmup implements HealthIndicator {
+
+    private static final Logger logger = LoggerFactory.getLogger(GatewayWarmup.class);
+
+    private final FabricGatewayService fabricGatewayService;
+    private final IdentityManagerService identityManager;
+    private final GatewayPool gatewayPool;
+    private final ExecutorFactory executorFactory;
+
+    @Value("${fabric.gateway-pool.warm-up:true}")
+    private boolean warmUpEnabled;
+
+    @Value("${fabric.gateway-pool.warm-up-function:getSystemInfo}")
+    private String warmUpFunction;
+
+    @Value("${fabric.gateway-pool.warm-up-parallelism:4}")
+    private int parallelism;
+
+    @Value("${fabric.gateway-pool.warm-up-timeout-seconds:120}")
+    private long timeoutSeconds;
+
+    // Identity (user@msp) -> outcome, filled in as each warm-up finishes
+    private final Map<String, String> results = new ConcurrentHashMap<>();
+
+    private volatile boolean finished = false;
+    private volatile long startedAtMillis;
+    private volatile long elapsedMs;
+    private volatile int identityCount;
+    private ExecutorService warmUpExecutor;
+
+    @Autowired
+    public GatewayWarmup(FabricGatewayService fabricGatewayService, IdentityManagerService identityManager,
+                         GatewayPool gatewayPool, ExecutorFactory executorFactory) {
+        this.fabricGatewayService = fabricGatewayService;
+        this.identityManager = identityManager;
+        this.gatewayPool = gatewayPool;
+        this.executorFactory = executorFactory;
+    }
+
+    /**
+     * Runs right after the identity manager has loaded its identities, which this bean depends on
+     */
+    @PostConstruct
+    public void start() {
+        if (!warmUpEnabled) {
+            finished = true;
+            return;
+        }
+
+        // One API key per identity: keys mapped to the same identity share its pooled connection
+        Map<String, String> apiKeyByIdentity = new LinkedHashMap<>();
+        for (String apiKey : identityManager.getAllConfiguredApiKeys()) {
+            if (identityManager.isValidApiKey(apiKey)) {
+                apiKeyByIdentity.putIfAbsent(gatewayPool.identityFor(apiKey), apiKey);
+            }
+        }
+
+        identityCount = apiKeyByIdentity.size();
+        startedAtMillis = System.currentTimeMillis();
+        warmUpExecutor = executorFactory.newFixedPool("gateway-warm-up", Math.min(parallelism, identityCount));
+
+        List<CompletableFuture<Void>> warmUps = new ArrayList<>();
+        apiKeyByIdentity.forEach((identity, apiKey) ->
+                warmUps.add(CompletableFuture.runAsync(() -> warmUp(identity, apiKey), warmUpExecutor)));
+
+        CompletableFuture.allOf(warmUps.toArray(new CompletableFuture[0]))
+                .orTimeout(timeoutSeconds, TimeUnit.SECONDS)
+                .whenComplete((ignored, error) -> complete(error != null));
+
+        logger.info("Warming up gateways for {} identities", identityCount);
+    }
+
+    private void warmUp(String identity, String apiKey) {
+        long startTime = System.currentTimeMillis();
+        try {
+            fabricGatewayService.evaluateTransactionForApiKey(apiKey, warmUpFunction);
+            results.put(identity, "ready in " + (System.currentTimeMillis() - startTime) + " ms");
+        } catch (Exception e) {
+            // The identity is connected on demand instead; the connection itself may still be open
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            results.put(identity, "failed: " + cause.getMessage());
+            logger.warn("Gateway warm-up failed for {}: {}", identity, cause.getMessage());
+        }
+    }
+
+    private void complete(boolean timedOut) {
+        elapsedMs = System.currentTimeMillis() - startedAtMillis;
+        finished = true;
+        warmUpExecutor.shutdown();
+
+        if (timedOut) {
+            logger.warn("Gateway warm-up timed out after {} s, {} of {} identities done",
+                    timeoutSeconds, results.size(), identityCount);
+        } else {
+            logger.info("Gateway warm-up finished for {} identities in {} ms", identityCount, elapsedMs);
+        }
+    }
+
+    @Override
+    public Health health() {
+        if (!warmUpEnabled) {
+            return Health.up().withDetail("warm_up", "disabled").build();
+        }
+
+        Health.Builder builder = finished ? Health.up() : Health.outOfService();
+        return builder
+                .withDetail("finished", finished)
+                .withDetail("identities", identityCount)
+                .withDetail("completed", results.size())
+                .withDetail("results", new LinkedHashMap<>(results))
+                .withDetail("elapsed_ms", finished ? elapsedMs : System.currentTimeMillis() - startedAtMillis)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (warmUpExecutor != null) {
+            warmUpExecutor.shutdownNow();
+        }
+    }
+}
@@ -177,6 +177,29 @@ public class IdentityManagerService {
         return "****" + apiKey.substring(apiKey.length() - 4);
     }
 
+    /**
+     * API key for background reads that have no request behind them. Only an explicitly
+     * configured, loaded, non-admin identity is used: what it reads is served to every caller.
+     * Null means there is none, and callers must read with each request's own identity.
+     */
+    public String resolveServiceApiKey(String configuredApiKey) {
+        if (configuredApiKey == null || configuredApiKey.isBlank()) {
+            return null;
+        }
+
+        var userIdentity = identityConfig.getIdentityForApiKey(configuredApiKey);
+        if (userIdentity == null || !isValidApiKey(configuredApiKey)) {
+            logger.warn("Service API key {} has no loaded identity", maskApiKey(configuredApiKey));
+            return null;
+        }
+        if ("admin".equalsIgnoreCase(userIdentity.role())) {
+            logger.warn("Service API key {} maps to admin identity {}; configure a least-privilege reader instead",
+                    maskApiKey(configuredApiKey), userIdentity.userName());
+            return null;
+        }
+        return configuredApiKey;
+    }
+
     /**
      * Get all configured API keys (for debugging)
      */
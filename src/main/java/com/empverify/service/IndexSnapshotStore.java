@@ -0,0 +1,197 @@
+package com.empverify.service;
+
+import com.empverify.dto.EmploymentRecordDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Local checkpoint file of the record index. Layout (big-endian): magic, format version,
+ * written-at millis, block watermark, reader identity, per-year counters, records as
+ * length-prefixed JSON, then a CRC32 of everything before it. Written to a temporary file and
+ * moved into place, read through a memory mapping; a file that is missing, from another format
+ * version or reader identity, or fails its checksum is ignored and the index is rebuilt from the ledger.
+ */
+@Service
+public class IndexSnapshotStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndexSnapshotStore.class);
+
+    private static final int MAGIC = 0x45564958; // "EVIX"
+    private static final int FORMAT_VERSION = 2;
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${empverify.search-index.snapshot.path:data/record-index.snapshot}")
+    private String snapshotPath;
+
+    /**
+     * What a snapshot was taken at: replaying from blockNumber and scanning past the counters brings it current
+     */
+    public record SnapshotInfo(long writtenAtMillis, long blockNumber, Map<Integer, Integer> counters, int records) {
+    }
+
+    @Autowired
+    public IndexSnapshotStore(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Write records, counters and block watermark, replacing the previous snapshot atomically.
+     * The reader names the identity the records were read with (never its API key).
+     * The records collection must not change while it is written; pass a copy.
+     */
+    public SnapshotInfo write(Collection<EmploymentRecordDto> records, Map<Integer, Integer> counters,
+                              long blockNumber, String reader) throws IOException {
+        Path path = Paths.get(snapshotPath);
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+
+        long writtenAt = System.currentTimeMillis();
+        int written = 0;
+        try {
+            CRC32 crc = new CRC32();
+            try (OutputStream file = Files.newOutputStream(temp);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(file, crc), 1 << 16))) {
+
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeLong(writtenAt);
+                out.writeLong(blockNumber);
+                out.writeUTF(reader);
+
+                out.writeInt(counters.size());
+                for (Map.Entry<Integer, Integer> counter : counters.entrySet()) {
+                    out.writeInt(counter.getKey());
+                    out.writeInt(counter.getValue());
+                }
+
+                out.writeInt(records.size());
+                for (EmploymentRecordDto record : records) {
+                    byte[] json = objectMapper.writeValueAsBytes(record);
+                    out.writeInt(json.length);
+                    out.write(json);
+                    written++;
+                }
+
+                // The checksum covers everything above; write it without feeding it to itself
+                out.flush();
+                long checksum = crc.getValue();
+                file.write(longBytes(checksum));
+            }
+
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        logger.debug("Wrote index snapshot {}: {} records, block {}", path, written, blockNumber);
+        return new SnapshotInfo(writtenAt, blockNumber, counters, written);
+    }
+
+    /**
+     * Hand every record in the snapshot to the consumer and return what it was taken at, or
+     * null when there is no usable snapshot. A snapshot read with another identity is not used:
+     * its records may include ones the current reader is not allowed to see.
+     */
+    public SnapshotInfo load(String reader, Consumer<EmploymentRecordDto> consumer) {
+        Path path = Paths.get(snapshotPath);
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 40 || size > Integer.MAX_VALUE) {
+                logger.warn("Ignoring index snapshot {}: unexpected size {}", path, size);
+                return null;
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int bodyLength = (int) size - Long.BYTES;
+
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(Integer.BYTES) != FORMAT_VERSION) {
+                logger.warn("Ignoring index snapshot {}: not a version {} snapshot", path, FORMAT_VERSION);
+                return null;
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(0, bodyLength));
+            if (crc.getValue() != buffer.getLong(bodyLength)) {
+                logger.warn("Ignoring index snapshot {}: checksum mismatch", path);
+                return null;
+            }
+
+            buffer.position(2 * Integer.BYTES);
+            long writtenAt = buffer.getLong();
+            long blockNumber = buffer.getLong();
+
+            byte[] readerBytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+            buffer.get(readerBytes);
+            String snapshotReader = new String(readerBytes, StandardCharsets.UTF_8);
+            if (!snapshotReader.equals(reader)) {
+                logger.warn("Ignoring index snapshot {}: read as {}, not {}", path, snapshotReader, reader);
+                return null;
+            }
+
+            Map<Integer, Integer> counters = new LinkedHashMap<>();
+            int counterCount = buffer.getInt();
+            for (int i = 0; i < counterCount; i++) {
+                counters.put(buffer.getInt(), buffer.getInt());
+            }
+
+            int recordCount = buffer.getInt();
+            byte[] json = new byte[1024];
+            for (int i = 0; i < recordCount; i++) {
+                int length = buffer.getInt();
+                if (length > json.length) {
+                    json = new byte[Math.max(length, json.length * 2)];
+                }
+                buffer.get(json, 0, length);
+                consumer.accept(objectMapper.readValue(json, 0, length, EmploymentRecordDto.class));
+            }
+
+            return new SnapshotInfo(writtenAt, blockNumber, counters, recordCount);
+
+        } catch (Exception e) {
+            logger.warn("Ignoring index snapshot {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    public String getPath() {
+        return Paths.get(snapshotPath).toAbsolutePath().toString();
+    }
+
+    private static byte[] longBytes(long value) {
+        byte[] bytes = new byte[Long.BYTES];
+        for (int i = Long.BYTES - 1; i >= 0; i--) {
+            bytes[i] = (byte) value;
+            value >>>= 8;
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,155 @@
+package com.empverify.service;
+
+import com.empverify.dto.RecordChangeDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded read-through cache of parsed ledger reads (records, documents) per employee.
+ * Entries are keyed by employee ID, then by read kind and caller identity, so that callers
+ * never see data read with another identity's access rights. Employees are evicted in
+ * least-recently-used order, values expire after the TTL, and every write or change feed
+ * entry for an employee drops all of that employee's entries.
+ */
+@Service
+public class LedgerReadCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(LedgerReadCache.class);
+
+    @Value("${empverify.read-cache.enabled:true}")
+    private boolean cacheEnabled;
+
+    @Value("${empverify.read-cache.max-employees:10000}")
+    private int maxEmployees;
+
+    @Value("${empverify.read-cache.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    private final LinkedHashMap<String, Map<String, CachedValue>> entries = new LinkedHashMap<>(256, 0.75f, true);
+
+    // Bumped on every invalidation so a load that raced with a write is not cached
+    private final AtomicLong invalidationVersion = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private record CachedValue(Object value, long expiresAtNanos) {
+    }
+
+    /**
+     * Return the cached value for (employee, kind, identity) or load, cache and return it.
+     * Loader exceptions propagate and nothing is cached. A null identity bypasses the cache.
+     */
+    public <T> T get(String employeeId, String kind, String identity, Class<T> type, Callable<T> loader) throws Exception {
+        if (!cacheEnabled || employeeId == null || identity == null) {
+            return loader.call();
+        }
+
+        String valueKey = kind + "|" + identity;
+        long now = System.nanoTime();
+
+        synchronized (entries) {
+            Map<String, CachedValue> employeeEntries = entries.get(employeeId);
+            CachedValue cached = employeeEntries != null ? employeeEntries.get(valueKey) : null;
+            if (cached != null && now - cached.expiresAtNanos() < 0) {
+                hits.incrementAndGet();
+                return type.cast(cached.value());
+            }
+        }
+
+        misses.incrementAndGet();
+        long versionBeforeLoad = invalidationVersion.get();
+        T value = loader.call();
+
+        if (value != null) {
+            synchronized (entries) {
+                if (invalidationVersion.get() == versionBeforeLoad) {
+                    entries.computeIfAbsent(employeeId, k -> new HashMap<>())
+                            .put(valueKey, new CachedValue(value, System.nanoTime() + ttlSeconds * 1_000_000_000L));
+                    evictOverflow();
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Drop every cached read for an employee
+     */
+    public void invalidate(String employeeId) {
+        if (employeeId == null) {
+            return;
+        }
+
+        invalidationVersion.incrementAndGet();
+        synchronized (entries) {
+            if (entries.remove(employeeId) != null) {
+                invalidations.incrementAndGet();
+                logger.debug("Invalidated cached reads for {}", employeeId);
+            }
+        }
+    }
+
+    /**
+     * Drop everything, used when a change cannot be attributed to one employee
+     */
+    public void invalidateAll() {
+        invalidationVersion.incrementAndGet();
+        synchronized (entries) {
+            invalidations.addAndGet(entries.size());
+            entries.clear();
+        }
+    }
+
+    /**
+     * Changes from the record change feed, which may come from writes made on other nodes
+     */
+    @EventListener
+    public void onRecordChange(RecordChangeDto change) {
+        if (change.getEmployeeId() != null) {
+            invalidate(change.getEmployeeId());
+        } else {
+            invalidateAll();
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long total = hitCount + missCount;
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", cacheEnabled);
+        synchronized (entries) {
+            stats.put("cached_employees", entries.size());
+        }
+        stats.put("max_employees", maxEmployees);
+        stats.put("ttl_seconds", ttlSeconds);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hit_ratio", total > 0 ? (double) hitCount / total : 0.0);
+        stats.put("evictions", evictions.get());
+        stats.put("invalidations", invalidations.get());
+        return stats;
+    }
+
+    private void evictOverflow() {
+        var iterator = entries.entrySet().iterator();
+        while (entries.size() > maxEmployees && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.empverify.service;
+
+import com.empverify.dto.EmploymentRecordDto;
+import com.empverify.exception.BlockchainException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Full scans of the EMP-YYYY-NNNNNN ID range for a year. The range is split into chunks that
+ * are read concurrently through the batched read path, at most max-concurrent-chunks at a time
+ * and, when max-records-per-second is set, no faster than that across all scans. Parsed records
+ * are handed to the consumer chunk by chunk, in ID order and on the calling thread, so memory
+ * stays bounded by the chunks in flight rather than the size of the ledger.
+ */
+@Service
+public class LedgerScanner {
+
+    private static final Logger logger = LoggerFactory.getLogger(LedgerScanner.class);
+
+    private final FabricGatewayService fabricGatewayService;
+    private final ObjectMapper objectMapper;
+    private final ExecutorFactory executorFactory;
+
+    @Value("${fabric.scan.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${fabric.scan.max-concurrent-chunks:4}")
+    private int maxConcurrentChunks;
+
+    // 0 = unlimited
+    @Value("${fabric.scan.max-records-per-second:0}")
+    private double maxRecordsPerSecond;
+
+    private final AtomicLong scans = new AtomicLong();
+    private final AtomicLong recordsRead = new AtomicLong();
+    private volatile long lastScanMs;
+
+    // Guarded by this: earliest time the next chunk may start under the rate limit
+    private long nextChunkNanos = System.nanoTime();
+
+    private ExecutorService scanExecutor;
+
+    /**
+     * Outcome of one scan: IDs requested, records handed to the consumer and time taken
+     */
+    public record ScanSummary(int year, int scanned, int found, long elapsedMs) {
+    }
+
+    @Autowired
+    public LedgerScanner(FabricGatewayService fabricGatewayService, ObjectMapper objectMapper,
+                         ExecutorFactory executorFactory) {
+        this.fabricGatewayService = fabricGatewayService;
+        this.objectMapper = objectMapper;
+        this.executorFactory = executorFactory;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        scanExecutor = executorFactory.newFixedPool("ledger-scan", maxConcurrentChunks);
+        logger.info("Ledger scans: chunks of {} IDs, {} concurrent, {}", chunkSize, maxConcurrentChunks,
+                maxRecordsPerSecond > 0 ? "at most " + maxRecordsPerSecond + " records/s" : "no rate limit");
+    }
+
+    /**
+     * Run every range of a plan, newest first as planned. Returns the number of records read.
+     */
+    public int scan(String apiKey, ScanPlanner.ScanPlan plan, Consumer<EmploymentRecordDto> consumer) {
+        int found = 0;
+        for (ScanPlanner.ScanRange range : plan.ranges()) {
+            found += scan(apiKey, range.year(), range.fromCounter(), range.toCounter(), consumer).found();
+        }
+        return found;
+    }
+
+    /**
+     * Scan counters fromCounter..toCounter (inclusive) of a year. Missing and unparseable records
+     * are skipped; a Fabric failure aborts the scan and cancels the chunks still in flight.
+     */
+    public ScanSummary scan(String apiKey, int year, int fromCounter, int toCounter,
+                            Consumer<EmploymentRecordDto> consumer) {
+        long startTime = System.currentTimeMillis();
+        int first = Math.max(1, fromCounter);
+        if (toCounter < first) {
+            return new ScanSummary(year, 0, 0, 0);
+        }
+
+        int size = Math.max(1, chunkSize);
+        int window = Math.max(1, maxConcurrentChunks);
+        Deque<Future<Map<String, String>>> inFlight = new ArrayDeque<>();
+        int next = first;
+        int found = 0;
+
+        try {
+            while (next <= toCounter || !inFlight.isEmpty()) {
+                while (next <= toCounter && inFlight.size() < window) {
+                    int last = (int) Math.min((long) next + size - 1, toCounter);
+                    List<String> employeeIds = FabricGatewayService.employeeIdRange(year, next, last);
+                    awaitRateLimit(employeeIds.size());
+                    inFlight.add(scanExecutor.submit(() ->
+                            fabricGatewayService.getRecordsBatchForApiKey(apiKey, employeeIds)));
+                    next = last + 1;
+                }
+
+                for (Map.Entry<String, String> entry : awaitChunk(inFlight.poll(), year).entrySet()) {
+                    EmploymentRecordDto record;
+                    try {
+                        record = objectMapper.readValue(entry.getValue(), EmploymentRecordDto.class);
+                    } catch (Exception e) {
+                        logger.trace("Record {} could not be parsed, continuing", entry.getKey());
+                        continue;
+                    }
+                    consumer.accept(record);
+                    found++;
+                }
+            }
+        } finally {
+            inFlight.forEach(chunk -> chunk.cancel(true));
+        }
+
+        int scanned = toCounter - first + 1;
+        long elapsedMs = System.currentTimeMillis() - startTime;
+        scans.incrementAndGet();
+        recordsRead.addAndGet(found);
+        lastScanMs = elapsedMs;
+
+        logger.debug("Scanned {} IDs for year {}: {} records in {} ms", scanned, year, found, elapsedMs);
+        return new ScanSummary(year, scanned, found, elapsedMs);
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("chunk_size", chunkSize);
+        stats.put("max_concurrent_chunks", maxConcurrentChunks);
+        stats.put("max_records_per_second", maxRecordsPerSecond);
+        stats.put("scans", scans.get());
+        stats.put("records_read", recordsRead.get());
+        stats.put("last_scan_ms", lastScanMs);
+        return stats;
+    }
+
+    private Map<String, String> awaitChunk(Future<Map<String, String>> chunk, int year) {
+        try {
+            return chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BlockchainException("Ledger scan interrupted for year " + year, e);
+        } catch (ExecutionException e) {
+            // FabricUnavailableException and BlockchainException keep their type
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new BlockchainException("Ledger scan failed for year " + year, e.getCause());
+        }
+    }
+
+    /**
+     * Reserve the next slot under the rate limit and sleep until it starts. The slot is taken
+     * under the lock, the wait is not, so concurrent scans queue up fairly without blocking each other.
+     */
+    private void awaitRateLimit(int records) {
+        if (maxRecordsPerSecond <= 0) {
+            return;
+        }
+
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long slot = Math.max(now, nextChunkNanos);
+            nextChunkNanos = slot + (long) (records * 1_000_000_000L / maxRecordsPerSecond);
+            waitNanos = slot - now;
+        }
+
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BlockchainException("Ledger scan interrupted", e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scanExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,187 @@
+package com.empverify.service;
+
+/**
+ * Levenshtein-based name similarity shared by search and duplicate detection.
+ * Similarity is {@code 1 - distance / maxLength}. Callers pass the score they are going
+ * to compare against so the distance computation can stop as soon as it cannot be reached.
+ * Names of up to 64 ASCII characters use Myers' bit-parallel algorithm; longer names use a
+ * banded two-row DP. Working buffers are per thread, so comparisons do not allocate.
+ */
+public final class NameSimilarity {
+
+    private static final int WORD_SIZE = 64;
+    private static final int ASCII_SIZE = 128;
+
+    private static final ThreadLocal<long[]> PATTERN_MASKS = ThreadLocal.withInitial(() -> new long[ASCII_SIZE]);
+    private static final ThreadLocal<int[][]> DP_ROWS = ThreadLocal.withInitial(() -> new int[2][WORD_SIZE * 2]);
+
+    private NameSimilarity() {
+    }
+
+    /**
+     * Similarity in [0, 1], or 0.0 when it is certainly below {@code minScore}
+     */
+    public static double similarity(String a, String b, double minScore) {
+        if (a == null || b == null) {
+            return 0.0;
+        }
+        if (a.equals(b)) {
+            return 1.0;
+        }
+
+        int maxLength = Math.max(a.length(), b.length());
+        if (maxLength == 0) {
+            return 1.0;
+        }
+
+        int maxDistance = minScore <= 0.0
+                ? maxLength
+                : (int) Math.floor((1.0 - minScore) * maxLength + 1e-9);
+
+        int distance = distance(a, b, maxDistance);
+        if (distance > maxDistance) {
+            return 0.0;
+        }
+        return 1.0 - (double) distance / maxLength;
+    }
+
+    /**
+     * Unbounded similarity in [0, 1]
+     */
+    public static double similarity(String a, String b) {
+        return similarity(a, b, 0.0);
+    }
+
+    /**
+     * Levenshtein distance, or {@code maxDistance + 1} as soon as the distance is known to exceed it
+     */
+    public static int distance(String a, String b, int maxDistance) {
+        // Pattern is the shorter string
+        String pattern = a.length() <= b.length() ? a : b;
+        String text = pattern == a ? b : a;
+
+        if (text.length() - pattern.length() > maxDistance) {
+            return maxDistance + 1;
+        }
+        if (pattern.isEmpty()) {
+            return text.length();
+        }
+
+        if (pattern.length() <= WORD_SIZE && isAscii(pattern)) {
+            return myersDistance(pattern, text, maxDistance);
+        }
+        return bandedDistance(pattern, text, maxDistance);
+    }
+
+    /**
+     * Myers / Hyyrö bit-vector edit distance, one machine word per text character
+     */
+    private static int myersDistance(String pattern, String text, int maxDistance) {
+        long[] peq = PATTERN_MASKS.get();
+        int m = pattern.length();
+        int n = text.length();
+
+        for (int i = 0; i < m; i++) {
+            peq[pattern.charAt(i)] |= 1L << i;
+        }
+
+        try {
+            long pv = -1L;
+            long mv = 0L;
+            long lastBit = 1L << (m - 1);
+            int score = m;
+
+            for (int j = 0; j < n; j++) {
+                char c = text.charAt(j);
+                long eq = c < ASCII_SIZE ? peq[c] : 0L;
+
+                long xv = eq | mv;
+                long xh = (((eq & pv) + pv) ^ pv) | eq;
+                long ph = mv | ~(xh | pv);
+                long mh = pv & xh;
+
+                if ((ph & lastBit) != 0) {
+                    score++;
+                } else if ((mh & lastBit) != 0) {
+                    score--;
+                }
+
+                // Each remaining text character can lower the score by at most one
+                if (score - (n - j - 1) > maxDistance) {
+                    return maxDistance + 1;
+                }
+
+                ph = (ph << 1) | 1L;
+                mh = mh << 1;
+                pv = mh | ~(xv | ph);
+                mv = ph & xv;
+            }
+
+            return score;
+        } finally {
+            for (int i = 0; i < m; i++) {
+                peq[pattern.charAt(i)] = 0L;
+            }
+        }
+    }
+
+    /**
+     * Two-row DP restricted to the diagonal band |i - j| <= maxDistance, abandoned once a whole row exceeds it
+     */
+    private static int bandedDistance(String pattern, String text, int maxDistance) {
+        int m = pattern.length();
+        int n = text.length();
+        int limit = maxDistance + 1;
+
+        int[][] rows = DP_ROWS.get();
+        if (rows[0].length < n + 1) {
+            rows = new int[][]{new int[n + 1], new int[n + 1]};
+            DP_ROWS.set(rows);
+        }
+        int[] previous = rows[0];
+        int[] current = rows[1];
+
+        for (int j = 0; j <= n; j++) {
+            previous[j] = Math.min(j, limit);
+        }
+
+        for (int i = 1; i <= m; i++) {
+            int from = Math.max(1, i - maxDistance);
+            int to = Math.min(n, i + maxDistance);
+
+            current[from - 1] = from == 1 ? Math.min(i, limit) : limit;
+            int rowMin = current[from - 1];
+            char pc = pattern.charAt(i - 1);
+
+            for (int j = from; j <= to; j++) {
+                int cost = pc == text.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                value = Math.min(value, limit);
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (to < n) {
+                current[to + 1] = limit;
+            }
+
+            if (rowMin > maxDistance) {
+                return limit;
+            }
+
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        return previous[n];
+    }
+
+    private static boolean isAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) >= ASCII_SIZE) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,366 @@
+package com.empverify.service;
+
+import org.hyperledger.fabric.gateway.Contract;
+import org.hyperledger.fabric.gateway.ContractException;
+import org.hyperledger.fabric.gateway.Network;
+import org.hyperledger.fabric.sdk.Peer;
+import org.hyperledger.fabric.sdk.exception.InvalidArgumentException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Chooses the peer that serves an evaluate. In the default mode the gateway picks as before.
+ * In "fastest" mode each read is sent to the query peer with the lowest latency EWMA; in "hedged"
+ * mode a duplicate read goes to the second fastest peer when the first has not answered within
+ * a high percentile of recent read latency, and whichever answers first wins.
+ * Only peers of the caller's own organization are candidates, as with the gateway's default
+ * evaluate, so org-scoped data reads the same. Latency is tracked per peer name across all
+ * identities. A small share of reads goes to another peer so a peer that has recovered can win
+ * its traffic back. Hedged attempts run on a pool sized to the read bulkhead; the attempt that
+ * loses, and every attempt of a read abandoned at its call deadline, is cancelled.
+ */
+@Service
+public class PeerReadRouter {
+
+    private static final Logger logger = LoggerFactory.getLogger(PeerReadRouter.class);
+
+    private static final int LATENCY_SAMPLES = 1024;
+    private static final int MIN_SAMPLES_FOR_PERCENTILE = 32;
+    private static final int PERCENTILE_REFRESH_INTERVAL = 128;
+
+    private enum Mode { DEFAULT, FASTEST, HEDGED }
+
+    @Value("${fabric.read-strategy.mode:default}")
+    private String modeSetting;
+
+    @Value("${fabric.read-strategy.ewma-alpha:0.2}")
+    private double ewmaAlpha;
+
+    @Value("${fabric.read-strategy.hedge-percentile:95}")
+    private int hedgePercentile;
+
+    @Value("${fabric.read-strategy.min-hedge-delay-ms:20}")
+    private long minHedgeDelayMs;
+
+    @Value("${fabric.read-strategy.initial-hedge-delay-ms:100}")
+    private long initialHedgeDelayMs;
+
+    @Value("${fabric.read-strategy.explore-ratio:0.05}")
+    private double exploreRatio;
+
+    @Value("${fabric.read-strategy.failure-penalty-ms:2000}")
+    private long failurePenaltyMs;
+
+    @Value("${fabric.resilience.max-concurrent-reads:64}")
+    private int maxConcurrentReads;
+
+    private final ExecutorFactory executorFactory;
+
+    private Mode mode;
+    private ExecutorService hedgeExecutor;
+
+    private final ConcurrentHashMap<String, PeerLatency> peerLatencies = new ConcurrentHashMap<>();
+
+    // Recent successful read latencies over all peers, for the hedge delay percentile
+    private final long[] latencySamples = new long[LATENCY_SAMPLES];
+    private final AtomicLong sampleCount = new AtomicLong();
+    private volatile long hedgeDelayNanos;
+
+    private final AtomicLong routedReads = new AtomicLong();
+    private final AtomicLong hedgedReads = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+
+    private static final class PeerLatency {
+
+        // Guarded by this
+        private double ewmaNanos = -1;
+        private long samples;
+        private long failures;
+
+        synchronized void record(long nanos, double alpha, boolean failed) {
+            ewmaNanos = ewmaNanos < 0 ? nanos : alpha * nanos + (1 - alpha) * ewmaNanos;
+            samples++;
+            if (failed) {
+                failures++;
+            }
+        }
+
+        synchronized double ewma() {
+            return ewmaNanos;
+        }
+    }
+
+    @Autowired
+    public PeerReadRouter(ExecutorFactory executorFactory) {
+        this.executorFactory = executorFactory;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        mode = Mode.valueOf(modeSetting.trim().toUpperCase());
+        hedgeDelayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(minHedgeDelayMs, initialHedgeDelayMs));
+
+        if (mode == Mode.HEDGED) {
+            // Each read admitted by the bulkhead runs at most two attempts
+            hedgeExecutor = executorFactory.newFixedPool("hedged-read", 2 * maxConcurrentReads);
+        }
+
+        logger.info("Ledger read strategy: {}", mode.name().toLowerCase());
+    }
+
+    /**
+     * Evaluate a transaction according to the configured strategy
+     */
+    public byte[] evaluate(Contract contract, Network network, String functionName, String... args) throws Exception {
+        if (mode == Mode.DEFAULT) {
+            return contract.evaluateTransaction(functionName, args);
+        }
+
+        List<Peer> peers = rankPeers(network);
+        if (peers.isEmpty()) {
+            return contract.evaluateTransaction(functionName, args);
+        }
+
+        routedReads.incrementAndGet();
+        if (mode == Mode.FASTEST || peers.size() == 1) {
+            return evaluateOn(contract, peers.get(0), functionName, args);
+        }
+        return evaluateHedged(contract, peers.get(0), peers.get(1), functionName, args);
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> peers = new HashMap<>();
+        peerLatencies.forEach((name, latency) -> {
+            Map<String, Object> peer = new HashMap<>();
+            synchronized (latency) {
+                peer.put("ewma_ms", latency.ewmaNanos < 0 ? null : latency.ewmaNanos / 1_000_000.0);
+                peer.put("samples", latency.samples);
+                peer.put("failures", latency.failures);
+            }
+            peers.put(name, peer);
+        });
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("mode", mode.name().toLowerCase());
+        stats.put("peers", peers);
+        stats.put("routed_reads", routedReads.get());
+        stats.put("hedged_reads", hedgedReads.get());
+        stats.put("hedge_wins", hedgeWins.get());
+        stats.put("hedge_delay_ms", hedgeDelayNanos / 1_000_000.0);
+        return stats;
+    }
+
+    // ==================== PEER SELECTION ====================
+
+    /**
+     * Query peers of the caller's organization, fastest first. Peers without samples sort first
+     * so they get measured.
+     */
+    private List<Peer> rankPeers(Network network) throws InvalidArgumentException {
+        Collection<Peer> queryPeers = network.getChannel().getPeers(EnumSet.of(Peer.PeerRole.CHAINCODE_QUERY));
+        Collection<Peer> orgPeers = network.getChannel().getPeersForOrganization(
+                network.getGateway().getIdentity().getMspId());
+        List<Peer> peers = new ArrayList<>(queryPeers != null ? queryPeers : List.of());
+        peers.retainAll(orgPeers != null ? orgPeers : List.of());
+        if (peers.size() < 2) {
+            return peers;
+        }
+
+        // Snapshot first: latencies change while sorting
+        Map<Peer, Double> ewmas = new HashMap<>();
+        for (Peer peer : peers) {
+            ewmas.put(peer, latencyOf(peer).ewma());
+        }
+        peers.sort(Comparator.comparingDouble(ewmas::get));
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextDouble() < exploreRatio) {
+            int other = 1 + random.nextInt(peers.size() - 1);
+            Peer fastest = peers.get(0);
+            peers.set(0, peers.get(other));
+            peers.set(other, fastest);
+        }
+        return peers;
+    }
+
+    private byte[] evaluateOn(Contract contract, Peer peer, String functionName, String... args) throws Exception {
+        long startTime = System.nanoTime();
+        try {
+            byte[] result = contract.createTransaction(functionName)
+                    .setEndorsingPeers(List.of(peer))
+                    .evaluate(args);
+            recordLatency(peer, System.nanoTime() - startTime, false);
+            return result;
+        } catch (Exception e) {
+            long elapsed = System.nanoTime() - startTime;
+            if (Thread.currentThread().isInterrupted()) {
+                // Cancelled: the peer was at least this slow, which is no failure of its own
+                latencyOf(peer).record(elapsed, ewmaAlpha, false);
+            } else if (isPeerAnswer(e)) {
+                recordLatency(peer, elapsed, false);
+            } else {
+                recordLatency(peer, Math.max(elapsed, TimeUnit.MILLISECONDS.toNanos(failurePenaltyMs)), true);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Send the read to the primary peer; if it has not answered after the hedge delay, or has
+     * failed without answering, send it to the backup peer too and take the first answer.
+     * Attempts still running when this returns or is interrupted (the caller's call deadline
+     * expired) are cancelled.
+     */
+    private byte[] evaluateHedged(Contract contract, Peer primary, Peer backup,
+                                  String functionName, String... args) throws Exception {
+        CompletableFuture<byte[]> answer = new CompletableFuture<>();
+        AtomicInteger failedAttempts = new AtomicInteger();
+        Future<?> primaryAttempt = attempt(contract, primary, answer, failedAttempts, false, functionName, args);
+        Future<?> backupAttempt = null;
+
+        try {
+            try {
+                return answer.get(hedgeDelayNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                // Primary is slow or has failed without answering: hedge to the backup
+            }
+
+            hedgedReads.incrementAndGet();
+            logger.trace("Hedging {} from {} to {}", functionName, primary.getName(), backup.getName());
+            backupAttempt = attempt(contract, backup, answer, failedAttempts, true, functionName, args);
+
+            return answer.get();
+
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } finally {
+            primaryAttempt.cancel(true);
+            if (backupAttempt != null) {
+                backupAttempt.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Run one attempt on the hedge pool; its outcome settles the answer from the completing thread
+     */
+    private Future<?> attempt(Contract contract, Peer peer, CompletableFuture<byte[]> answer,
+                              AtomicInteger failedAttempts, boolean backup, String functionName, String... args) {
+        return hedgeExecutor.submit(() -> {
+            byte[] result = null;
+            Exception error = null;
+            try {
+                result = evaluateOn(contract, peer, functionName, args);
+            } catch (Exception e) {
+                error = e;
+            }
+            if (settle(answer, result, error, failedAttempts, 2) && backup) {
+                hedgeWins.incrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * A result or a chaincode error settles the read at once; a peer failure only settles it
+     * when every attempt has failed. Returns whether this attempt settled the read.
+     */
+    private boolean settle(CompletableFuture<byte[]> answer, byte[] result, Throwable error,
+                           AtomicInteger failedAttempts, int attempts) {
+        if (error == null) {
+            return answer.complete(result);
+        }
+
+        if (isPeerAnswer(error) || failedAttempts.incrementAndGet() >= attempts) {
+            return answer.completeExceptionally(error);
+        }
+        return false;
+    }
+
+    private Exception unwrap(ExecutionException e) {
+        return e.getCause() instanceof Exception cause ? cause : e;
+    }
+
+    /**
+     * Whether an evaluate failure came back from the peer (a chaincode error) rather than from
+     * failing to reach it. gRPC connection errors surface inside ContractException too, so those
+     * are recognised by their status.
+     */
+    private boolean isPeerAnswer(Throwable e) {
+        if (!(e instanceof ContractException)) {
+            return false;
+        }
+        for (Throwable current = e; current != null; current = current.getCause()) {
+            String message = current.getMessage();
+            if (message != null && (message.contains("UNAVAILABLE") || message.contains("DEADLINE_EXCEEDED"))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ==================== LATENCY TRACKING ====================
+
+    private PeerLatency latencyOf(Peer peer) {
+        return peerLatencies.computeIfAbsent(peer.getName(), name -> new PeerLatency());
+    }
+
+    private void recordLatency(Peer peer, long nanos, boolean failed) {
+        latencyOf(peer).record(nanos, ewmaAlpha, failed);
+        if (failed) {
+            return;
+        }
+
+        long count = sampleCount.getAndIncrement();
+        synchronized (latencySamples) {
+            latencySamples[(int) (count % LATENCY_SAMPLES)] = nanos;
+        }
+        // First refresh as soon as there are enough samples, then every interval
+        long samples = count + 1;
+        if (samples == MIN_SAMPLES_FOR_PERCENTILE || (samples > MIN_SAMPLES_FOR_PERCENTILE
+                && samples % PERCENTILE_REFRESH_INTERVAL == 0)) {
+            refreshHedgeDelay(samples);
+        }
+    }
+
+    private void refreshHedgeDelay(long count) {
+        long[] samples;
+        synchronized (latencySamples) {
+            samples = Arrays.copyOf(latencySamples, (int) Math.min(count, LATENCY_SAMPLES));
+        }
+        Arrays.sort(samples);
+
+        int index = (int) Math.min(samples.length - 1, Math.ceil(hedgePercentile / 100.0 * samples.length) - 1);
+        hedgeDelayNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(minHedgeDelayMs), samples[Math.max(0, index)]);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (hedgeExecutor != null) {
+            hedgeExecutor.shutdownNow();
+        }
+    }
+}
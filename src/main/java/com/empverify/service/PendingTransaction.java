@@ -0,0 +1,11 @@
+package com.empverify.service;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A transaction that has been endorsed and sent to the orderer but may not be committed yet.
+ * The commit future completes with the block number once a peer reports the transaction as
+ * valid, or exceptionally if it fails validation or the commit timeout passes.
+ */
+public record PendingTransaction(String transactionId, String result, CompletableFuture<Long> commit) {
+}
@@ -0,0 +1,402 @@
+package com.empverify.service;
+
+import com.empverify.dto.RecordChangeDto;
+import com.empverify.dto.RecordChangeListDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hyperledger.fabric.gateway.ContractEvent;
+import org.hyperledger.fabric.sdk.BlockEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Feed of changed employee IDs. Updates come from chaincode events; creates are also detected by
+ * polling the per-year employee counters, so records whose event was missed still show up. Each
+ * change gets a sequence number, is published in-app as a {@link RecordChangeDto} application
+ * event and is kept in a bounded history that pollers and SSE subscribers read from with since.
+ * Delivery is at least once: an ID can appear more than once, and consumers re-read the record.
+ * Sequence numbers restart with the process, which readers see as a gap.
+ */
+@Service
+public class RecordChangeFeed {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecordChangeFeed.class);
+    private static final Pattern EMPLOYEE_ID_PATTERN = Pattern.compile("EMP-(\\d{4})-(\\d{6})");
+
+    private final FabricGatewayService fabricGatewayService;
+    private final IdentityManagerService identityManager;
+    private final ScanPlanner scanPlanner;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${empverify.change-feed.enabled:true}")
+    private boolean feedEnabled;
+
+    @Value("${empverify.change-feed.api-key:}")
+    private String configuredApiKey;
+
+    @Value("${empverify.change-feed.poll-interval-seconds:15}")
+    private long pollIntervalSeconds;
+
+    @Value("${empverify.change-feed.retention:10000}")
+    private int retention;
+
+    @Value("${empverify.change-feed.sse-timeout-minutes:30}")
+    private long sseTimeoutMinutes;
+
+    // Guarded by this
+    private final ArrayDeque<RecordChangeDto> history = new ArrayDeque<>();
+    private long lastSequence = 0;
+
+    // Highest counter per year already reported (or present at startup)
+    private final ConcurrentHashMap<Integer, Integer> seenCounters = new ConcurrentHashMap<>();
+    private final CopyOnWriteArrayList<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    // Counter polls and SSE delivery, so neither runs on a Fabric event thread
+    private final ScheduledExecutorService feedExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "change-feed");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Separate from the history lock: starting makes ledger calls
+    private final Object startLock = new Object();
+
+    private volatile boolean started = false;
+    private volatile Long replayFromBlock;
+    private volatile String feedApiKey;
+    private volatile Consumer<ContractEvent> contractListener;
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private volatile long lastSentSequence;
+
+        private Subscriber(SseEmitter emitter, long lastSentSequence) {
+            this.emitter = emitter;
+            this.lastSentSequence = lastSentSequence;
+        }
+    }
+
+    @Autowired
+    public RecordChangeFeed(FabricGatewayService fabricGatewayService, IdentityManagerService identityManager,
+                            ScanPlanner scanPlanner, ObjectMapper objectMapper,
+                            ApplicationEventPublisher eventPublisher) {
+        this.fabricGatewayService = fabricGatewayService;
+        this.identityManager = identityManager;
+        this.scanPlanner = scanPlanner;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startOnStartup() {
+        if (!feedEnabled) {
+            logger.info("Record change feed is disabled");
+            return;
+        }
+        start();
+    }
+
+    /**
+     * Subscribe to chaincode events, take the current counters as the baseline and start polling.
+     * Idempotent; components that must not miss changes call it before their initial scan.
+     */
+    public void start() {
+        synchronized (startLock) {
+            if (started || !feedEnabled) {
+                return;
+            }
+
+            feedApiKey = identityManager.resolveServiceApiKey(configuredApiKey);
+            if (feedApiKey == null) {
+                logger.warn("No change-feed reader identity configured, the record change feed will not start");
+                return;
+            }
+
+            try {
+                contractListener = fabricGatewayService.addContractListener(feedApiKey, replayFromBlock, this::onContractEvent);
+            } catch (Exception e) {
+                logger.warn("Record change feed will not receive chaincode events: {}", e.getMessage());
+            }
+
+            seenCounters.putAll(scanPlanner.planAll(feedApiKey).counters());
+            feedExecutor.scheduleWithFixedDelay(this::pollCounters, pollIntervalSeconds, pollIntervalSeconds, TimeUnit.SECONDS);
+            started = true;
+
+            logger.info("Record change feed started{}: counters {} polled every {} s",
+                    replayFromBlock != null ? " from block " + replayFromBlock : "", seenCounters, pollIntervalSeconds);
+        }
+    }
+
+    /**
+     * Have the feed, once started, also replay chaincode events from this block on, e.g. to bring
+     * a restored snapshot up to date. Only honoured before start; returns whether it will be.
+     */
+    public boolean replayFrom(long blockNumber) {
+        synchronized (startLock) {
+            if (started || !feedEnabled) {
+                return false;
+            }
+            replayFromBlock = replayFromBlock != null ? Math.min(replayFromBlock, blockNumber) : blockNumber;
+            return true;
+        }
+    }
+
+    // ==================== PUBLIC API ====================
+
+    public boolean isListeningForEvents() {
+        return contractListener != null;
+    }
+
+    /**
+     * Changes after since, oldest first, at most limit of them
+     */
+    public synchronized RecordChangeListDto changesSince(long since, int limit) {
+        List<RecordChangeDto> changes = new ArrayList<>();
+        for (RecordChangeDto change : history) {
+            if (change.getSequence() > since) {
+                if (changes.size() == limit) {
+                    break;
+                }
+                changes.add(change);
+            }
+        }
+
+        RecordChangeListDto result = new RecordChangeListDto();
+        result.setChanges(changes);
+        result.setLatestSequence(changes.isEmpty() ? lastSequence : changes.get(changes.size() - 1).getSequence());
+        result.setOldestRetainedSequence(history.isEmpty() ? null : history.peekFirst().getSequence());
+        result.setGap(isGap(since));
+        result.setHasMore(!changes.isEmpty() && result.getLatestSequence() < lastSequence);
+        return result;
+    }
+
+    /**
+     * Stream changes as server-sent events, each with its sequence as the event id. With since, retained
+     * changes after it are replayed first; without, only new changes are sent. A "gap" event tells the
+     * client that changes it asked for are no longer retained.
+     */
+    public SseEmitter subscribe(Long since) {
+        SseEmitter emitter = new SseEmitter(TimeUnit.MINUTES.toMillis(sseTimeoutMinutes));
+        Subscriber subscriber;
+        synchronized (this) {
+            subscriber = new Subscriber(emitter, since != null ? since : lastSequence);
+        }
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        feedExecutor.execute(() -> deliver(subscriber));
+        logger.debug("Change feed subscriber added from sequence {}, {} subscribers", subscriber.lastSentSequence, subscribers.size());
+        return emitter;
+    }
+
+    public synchronized Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", feedEnabled);
+        stats.put("started", started);
+        stats.put("listening_for_events", contractListener != null);
+        stats.put("replay_from_block", replayFromBlock);
+        stats.put("latest_sequence", lastSequence);
+        stats.put("retained_changes", history.size());
+        stats.put("seen_counters", new HashMap<>(seenCounters));
+        stats.put("subscribers", subscribers.size());
+        return stats;
+    }
+
+    // ==================== CHANGE SOURCES ====================
+
+    private void onContractEvent(ContractEvent event) {
+        RecordChangeDto change = new RecordChangeDto();
+        change.setEmployeeId(extractEmployeeId(event));
+        change.setSource(RecordChangeDto.SOURCE_EVENT);
+        change.setEventName(event.getName());
+
+        if (change.getEmployeeId() == null) {
+            change.setChangeType(RecordChangeDto.RESYNC);
+        } else {
+            String name = event.getName() != null ? event.getName().toLowerCase() : "";
+            change.setChangeType(name.contains("create") ? RecordChangeDto.CREATED : RecordChangeDto.UPDATED);
+        }
+
+        BlockEvent.TransactionEvent transaction = event.getTransactionEvent();
+        if (transaction != null) {
+            change.setTransactionId(transaction.getTransactionID());
+            if (transaction.getBlockEvent() != null) {
+                change.setBlockNumber(transaction.getBlockEvent().getBlockNumber());
+            }
+        }
+
+        logger.debug("Contract event '{}' received for {}", event.getName(),
+                change.getEmployeeId() != null ? change.getEmployeeId() : "unknown record");
+        publish(change);
+    }
+
+    /**
+     * Report IDs issued since the last poll; covers creates whose chaincode event was missed
+     */
+    private void pollCounters() {
+        try {
+            // Take the counters from the ledger, not a cached copy
+            scanPlanner.invalidate(scanPlanner.currentYear());
+            ScanPlanner.ScanPlan plan = scanPlanner.planSince(feedApiKey, new HashMap<>(seenCounters));
+
+            for (ScanPlanner.ScanRange range : plan.ranges()) {
+                for (String employeeId : FabricGatewayService.employeeIdRange(range.year(), range.fromCounter(), range.toCounter())) {
+                    RecordChangeDto change = new RecordChangeDto();
+                    change.setEmployeeId(employeeId);
+                    change.setChangeType(RecordChangeDto.CREATED);
+                    change.setSource(RecordChangeDto.SOURCE_COUNTER);
+                    publish(change);
+                }
+                seenCounters.merge(range.year(), range.toCounter(), Math::max);
+            }
+        } catch (Exception e) {
+            logger.warn("Change feed counter poll failed: {}", e.getMessage());
+        }
+    }
+
+    private void publish(RecordChangeDto change) {
+        synchronized (this) {
+            change.setSequence(++lastSequence);
+            change.setDetectedAt(LocalDateTime.now());
+            history.addLast(change);
+            while (history.size() > Math.max(1, retention)) {
+                history.removeFirst();
+            }
+        }
+
+        // In-app listeners (index, read cache) run on this thread and must not block
+        try {
+            eventPublisher.publishEvent(change);
+        } catch (Exception e) {
+            logger.warn("Change listener failed for {}: {}", change.getEmployeeId(), e.getMessage());
+        }
+
+        if (!subscribers.isEmpty()) {
+            feedExecutor.execute(() -> subscribers.forEach(this::deliver));
+        }
+    }
+
+    // ==================== SSE DELIVERY ====================
+
+    /**
+     * Send a subscriber everything after its last sent sequence. Runs on the feed thread only.
+     */
+    private void deliver(Subscriber subscriber) {
+        if (!subscribers.contains(subscriber)) {
+            return;
+        }
+
+        List<RecordChangeDto> pending;
+        boolean gap;
+        synchronized (this) {
+            gap = isGap(subscriber.lastSentSequence);
+            pending = new ArrayList<>();
+            for (RecordChangeDto change : history) {
+                if (change.getSequence() > subscriber.lastSentSequence) {
+                    pending.add(change);
+                }
+            }
+        }
+
+        try {
+            if (gap) {
+                subscriber.emitter.send(SseEmitter.event().name("gap").data(Map.of("since", subscriber.lastSentSequence)));
+            }
+            for (RecordChangeDto change : pending) {
+                subscriber.emitter.send(SseEmitter.event()
+                        .id(String.valueOf(change.getSequence()))
+                        .name("change")
+                        .data(change, MediaType.APPLICATION_JSON));
+                subscriber.lastSentSequence = change.getSequence();
+            }
+            if (gap && pending.isEmpty()) {
+                synchronized (this) {
+                    subscriber.lastSentSequence = lastSequence;
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away
+            subscribers.remove(subscriber);
+            logger.debug("Change feed subscriber dropped: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Whether changes after since have been dropped, or since is from before a restart
+     */
+    private boolean isGap(long since) {
+        if (since > lastSequence) {
+            return true;
+        }
+        RecordChangeDto oldest = history.peekFirst();
+        return oldest != null && oldest.getSequence() > since + 1;
+    }
+
+    /**
+     * Find the affected employee ID in an event payload: either a JSON object with
+     * an employee_id field or any text containing an EMP-YYYY-NNNNNN identifier
+     */
+    private String extractEmployeeId(ContractEvent event) {
+        byte[] payload = event.getPayload().orElse(null);
+        if (payload == null || payload.length == 0) {
+            return null;
+        }
+
+        String text = new String(payload, StandardCharsets.UTF_8);
+
+        try {
+            JsonNode json = objectMapper.readTree(text);
+            if (json != null && json.hasNonNull("employee_id")) {
+                return json.get("employee_id").asText();
+            }
+        } catch (Exception e) {
+            // Not JSON - fall through to pattern matching
+        }
+
+        Matcher matcher = EMPLOYEE_ID_PATTERN.matcher(text);
+        return matcher.find() ? matcher.group() : null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (contractListener != null && feedApiKey != null) {
+            try {
+                fabricGatewayService.removeContractListener(feedApiKey, contractListener);
+            } catch (Exception e) {
+                logger.debug("Error removing contract listener", e);
+            }
+        }
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        feedExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,190 @@
+package com.empverify.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides which counter ranges a ledger scan has to read. Years from first-year up to the
+ * current year are probed with getEmployeeCounter and the values cached: the current year for
+ * counter-ttl-seconds, earlier years, which no longer issue IDs, for closed-year-ttl-seconds.
+ * A plan either covers every year with records or, given the counters a caller has already
+ * scanned up to, only the IDs issued since.
+ */
+@Service
+public class ScanPlanner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScanPlanner.class);
+    private static final int UNREADABLE = -1;
+
+    private final FabricGatewayService fabricGatewayService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${fabric.scan.first-year:2020}")
+    private int firstYear;
+
+    @Value("${fabric.scan.counter-ttl-seconds:5}")
+    private long counterTtlSeconds;
+
+    @Value("${fabric.scan.closed-year-ttl-seconds:3600}")
+    private long closedYearTtlSeconds;
+
+    private final ConcurrentHashMap<Integer, CachedCounter> counters = new ConcurrentHashMap<>();
+
+    private final AtomicLong counterReads = new AtomicLong();
+    private final AtomicLong counterCacheHits = new AtomicLong();
+
+    // value is UNREADABLE when the counter could not be read; that outcome is cached too
+    private record CachedCounter(int value, long readAtNanos) {
+    }
+
+    /**
+     * Counters fromCounter..toCounter (inclusive) of one year
+     */
+    public record ScanRange(int year, int fromCounter, int toCounter) {
+        public int size() {
+            return toCounter - fromCounter + 1;
+        }
+    }
+
+    /**
+     * Ranges to read, plus every counter that could be read (zero included) so callers can tell
+     * an empty ledger from one whose counters are unavailable
+     */
+    public record ScanPlan(List<ScanRange> ranges, Map<Integer, Integer> counters) {
+        public int totalIds() {
+            return ranges.stream().mapToInt(ScanRange::size).sum();
+        }
+    }
+
+    @Autowired
+    public ScanPlanner(FabricGatewayService fabricGatewayService, ObjectMapper objectMapper) {
+        this.fabricGatewayService = fabricGatewayService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Every record in every year that has any
+     */
+    public ScanPlan planAll(String apiKey) {
+        return planSince(apiKey, Collections.emptyMap());
+    }
+
+    /**
+     * Only the IDs issued after the given per-year counters, which a caller has already scanned
+     */
+    public ScanPlan planSince(String apiKey, Map<Integer, Integer> scannedCounters) {
+        List<ScanRange> ranges = new ArrayList<>();
+        Map<Integer, Integer> readCounters = new LinkedHashMap<>();
+
+        // Newest year first: recent records are the likeliest matches and the likeliest to change
+        for (int year = currentYear(); year >= firstYear; year--) {
+            Integer counter = counterFor(apiKey, year);
+            if (counter == null) {
+                continue;
+            }
+            readCounters.put(year, counter);
+
+            int from = scannedCounters.getOrDefault(year, 0) + 1;
+            if (counter >= from) {
+                ranges.add(new ScanRange(year, from, counter));
+            }
+        }
+
+        ScanPlan plan = new ScanPlan(ranges, readCounters);
+        logger.debug("Scan plan: {} IDs in {} ranges", plan.totalIds(), ranges.size());
+        return plan;
+    }
+
+    /**
+     * Drop a cached counter, e.g. before a check that must see a record created moments ago
+     */
+    public void invalidate(int year) {
+        counters.remove(year);
+    }
+
+    public void invalidateAll() {
+        counters.clear();
+    }
+
+    public int currentYear() {
+        return Calendar.getInstance().get(Calendar.YEAR);
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<Integer, Integer> cached = new TreeMap<>();
+        counters.forEach((year, counter) -> {
+            if (counter.value() != UNREADABLE) {
+                cached.put(year, counter.value());
+            }
+        });
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("first_year", firstYear);
+        stats.put("cached_counters", cached);
+        stats.put("counter_reads", counterReads.get());
+        stats.put("counter_cache_hits", counterCacheHits.get());
+        return stats;
+    }
+
+    /**
+     * Cached counter for a year, re-read once its TTL has passed; null when it cannot be read
+     */
+    private Integer counterFor(String apiKey, int year) {
+        long ttlNanos = TimeUnit.SECONDS.toNanos(year < currentYear() ? closedYearTtlSeconds : counterTtlSeconds);
+        CachedCounter cached = counters.get(year);
+        if (cached == null || System.nanoTime() - cached.readAtNanos() >= ttlNanos) {
+            Integer value = readCounter(apiKey, year);
+            int previous = cached != null ? cached.value() : UNREADABLE;
+
+            // Counters only grow: neither a lagging peer nor a failed read moves a known value backwards
+            int counter = value != null ? Math.max(previous, value) : previous;
+            cached = new CachedCounter(counter, System.nanoTime());
+            counters.put(year, cached);
+        } else {
+            counterCacheHits.incrementAndGet();
+        }
+
+        return cached.value() != UNREADABLE ? cached.value() : null;
+    }
+
+    private Integer readCounter(String apiKey, int year) {
+        counterReads.incrementAndGet();
+        try {
+            String counterResult = fabricGatewayService.evaluateTransactionForApiKey(
+                    apiKey, "getEmployeeCounter", String.valueOf(year));
+
+            if (counterResult != null && !counterResult.trim().isEmpty()) {
+                JsonNode counterJson = objectMapper.readTree(counterResult);
+                if (counterJson != null && counterJson.hasNonNull("current_counter")) {
+                    return counterJson.get("current_counter").asInt();
+                }
+            }
+        } catch (Exception e) {
+            // Years before the first record routinely have no counter
+            if (year == currentYear()) {
+                logger.warn("Could not get system counter for year {}: {}", year, e.getMessage());
+            } else {
+                logger.debug("No system counter for year {}: {}", year, e.getMessage());
+            }
+        }
+
+        return null;
+    }
+}
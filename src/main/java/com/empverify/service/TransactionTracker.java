@@ -0,0 +1,101 @@
+package com.empverify.service;
+
+import com.empverify.dto.TransactionStatusDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Queue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Remembers the outcome of transactions submitted asynchronously so clients can poll
+ * for commit status. Only the most recent transactions are kept.
+ */
+@Service
+public class TransactionTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionTracker.class);
+
+    @Value("${fabric.async.max-tracked-transactions:10000}")
+    private int maxTrackedTransactions;
+
+    private final ConcurrentHashMap<String, TransactionStatusDto> transactions = new ConcurrentHashMap<>();
+    private final Queue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Start tracking a pending transaction and return its initial status
+     */
+    public TransactionStatusDto track(PendingTransaction pending, String functionName, String employeeId) {
+        TransactionStatusDto status = new TransactionStatusDto();
+        status.setTransactionId(pending.transactionId());
+        status.setFunctionName(functionName);
+        status.setEmployeeId(employeeId);
+        status.setStatus(TransactionStatusDto.PENDING_COMMIT);
+        status.setResult(pending.result());
+        status.setSubmittedAt(LocalDateTime.now());
+
+        transactions.put(pending.transactionId(), status);
+        insertionOrder.add(pending.transactionId());
+        evictOverflow();
+
+        pending.commit().whenComplete((blockNumber, error) -> complete(status, blockNumber, error));
+        return copyOf(status);
+    }
+
+    /**
+     * Current status of a tracked transaction, or null if it is unknown or has been evicted
+     */
+    public TransactionStatusDto getStatus(String transactionId) {
+        TransactionStatusDto status = transactionId != null ? transactions.get(transactionId) : null;
+        return status != null ? copyOf(status) : null;
+    }
+
+    private void complete(TransactionStatusDto pendingStatus, Long blockNumber, Throwable error) {
+        TransactionStatusDto completed = copyOf(pendingStatus);
+        completed.setCompletedAt(LocalDateTime.now());
+
+        if (error == null) {
+            completed.setStatus(TransactionStatusDto.COMMITTED);
+            completed.setBlockNumber(blockNumber);
+            logger.debug("Transaction {} committed in block {}", completed.getTransactionId(), blockNumber);
+        } else {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            completed.setStatus(TransactionStatusDto.FAILED);
+            completed.setError(cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName());
+            logger.warn("Transaction {} ({}) did not commit: {}",
+                    completed.getTransactionId(), completed.getFunctionName(), completed.getError());
+        }
+
+        // Statuses are replaced, never mutated, so readers always see a consistent snapshot
+        transactions.replace(completed.getTransactionId(), pendingStatus, completed);
+    }
+
+    private void evictOverflow() {
+        while (transactions.size() > maxTrackedTransactions) {
+            String oldest = insertionOrder.poll();
+            if (oldest == null) {
+                return;
+            }
+            transactions.remove(oldest);
+        }
+    }
+
+    private TransactionStatusDto copyOf(TransactionStatusDto source) {
+        TransactionStatusDto copy = new TransactionStatusDto();
+        copy.setTransactionId(source.getTransactionId());
+        copy.setFunctionName(source.getFunctionName());
+        copy.setEmployeeId(source.getEmployeeId());
+        copy.setStatus(source.getStatus());
+        copy.setResult(source.getResult());
+        copy.setError(source.getError());
+        copy.setBlockNumber(source.getBlockNumber());
+        copy.setSubmittedAt(source.getSubmittedAt());
+        copy.setCompletedAt(source.getCompletedAt());
+        return copy;
+    }
+}
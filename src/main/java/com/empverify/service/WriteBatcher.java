@@ -0,0 +1,322 @@
+package com.empverify.service;
+
+import com.empverify.exception.BlockchainException;
+import com.empverify.exception.FabricUnavailableException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Optional batching stage in front of {@link FabricGatewayService#submitTransaction}.
+ * Writes of the same function by the same identity that arrive within a short window (or
+ * until the batch is full) are sent together: as one call to a batch chaincode function when
+ * one is configured, otherwise as concurrent individual submissions. Every caller still gets
+ * its own result or failure. A failed batch is resubmitted individually only when it is known
+ * not to have reached the orderer.
+ */
+@Service
+public class WriteBatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteBatcher.class);
+
+    private final FabricGatewayService fabricGatewayService;
+    private final ObjectMapper objectMapper;
+    private final ExecutorFactory executorFactory;
+
+    @Value("${fabric.write-batch.enabled:false}")
+    private boolean batchingEnabled;
+
+    @Value("${fabric.write-batch.window-ms:20}")
+    private long windowMs;
+
+    @Value("${fabric.write-batch.max-size:50}")
+    private int maxBatchSize;
+
+    @Value("${fabric.write-batch.parallelism:16}")
+    private int parallelism;
+
+    // Comma-separated function:batchFunction pairs, e.g. createRecord:createRecordsBatch
+    @Value("${fabric.write-batch.functions:}")
+    private String batchFunctionsSetting;
+
+    private final Map<String, String> batchFunctions = new HashMap<>();
+    private final Set<String> unsupportedBatchFunctions = ConcurrentHashMap.newKeySet();
+
+    // Guarded by itself
+    private final Map<BatchKey, List<PendingWrite>> openBatches = new HashMap<>();
+
+    private final AtomicLong flushedBatches = new AtomicLong();
+    private final AtomicLong batchedWrites = new AtomicLong();
+
+    private ScheduledExecutorService flushScheduler;
+    private ExecutorService submitExecutor;
+
+    private record BatchKey(String apiKey, String functionName) {
+    }
+
+    private record PendingWrite(String payload, CompletableFuture<String> result) {
+    }
+
+    @Autowired
+    public WriteBatcher(FabricGatewayService fabricGatewayService, ObjectMapper objectMapper,
+                        ExecutorFactory executorFactory) {
+        this.fabricGatewayService = fabricGatewayService;
+        this.objectMapper = objectMapper;
+        this.executorFactory = executorFactory;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        for (String pair : batchFunctionsSetting.split(",")) {
+            String[] parts = pair.split(":");
+            if (parts.length == 2 && !parts[0].isBlank() && !parts[1].isBlank()) {
+                batchFunctions.put(parts[0].trim(), parts[1].trim());
+            }
+        }
+
+        if (!batchingEnabled) {
+            return;
+        }
+
+        flushScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "write-batch-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        submitExecutor = executorFactory.newFixedPool("write-batch-submit", parallelism);
+
+        logger.info("Write batching enabled: window {} ms, max {} writes, batch functions {}",
+                windowMs, maxBatchSize, batchFunctions);
+    }
+
+    /**
+     * Submit a single-payload write and wait for its own result. Submits directly when batching is disabled.
+     */
+    public String submit(String functionName, String payload) {
+        if (!batchingEnabled) {
+            return fabricGatewayService.submitTransaction(functionName, payload);
+        }
+
+        BatchKey key = new BatchKey(fabricGatewayService.getCurrentApiKey(), functionName);
+        try {
+            return enqueue(key, payload).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new BlockchainException("Failed to submit transaction: " + functionName, e.getCause());
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        long batches = flushedBatches.get();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", batchingEnabled);
+        stats.put("window_ms", windowMs);
+        stats.put("max_size", maxBatchSize);
+        stats.put("batch_functions", batchFunctions);
+        stats.put("unsupported_batch_functions", Set.copyOf(unsupportedBatchFunctions));
+        stats.put("flushed_batches", batches);
+        stats.put("average_batch_size", batches > 0 ? (double) batchedWrites.get() / batches : 0.0);
+        return stats;
+    }
+
+    // ==================== BATCHING ====================
+
+    private CompletableFuture<String> enqueue(BatchKey key, String payload) {
+        PendingWrite write = new PendingWrite(payload, new CompletableFuture<>());
+        List<PendingWrite> fullBatch = null;
+
+        synchronized (openBatches) {
+            List<PendingWrite> batch = openBatches.get(key);
+            if (batch == null) {
+                List<PendingWrite> newBatch = new ArrayList<>();
+                openBatches.put(key, newBatch);
+                flushScheduler.schedule(() -> flush(key, newBatch), windowMs, TimeUnit.MILLISECONDS);
+                batch = newBatch;
+            }
+
+            batch.add(write);
+            if (batch.size() >= maxBatchSize) {
+                openBatches.remove(key);
+                fullBatch = batch;
+            }
+        }
+
+        if (fullBatch != null) {
+            List<PendingWrite> writes = fullBatch;
+            submitExecutor.execute(() -> execute(key, writes));
+        }
+        return write.result();
+    }
+
+    /**
+     * Window expired: send the batch unless it already went out because it filled up
+     */
+    private void flush(BatchKey key, List<PendingWrite> batch) {
+        synchronized (openBatches) {
+            if (!openBatches.remove(key, batch)) {
+                return;
+            }
+        }
+        submitExecutor.execute(() -> execute(key, batch));
+    }
+
+    private void execute(BatchKey key, List<PendingWrite> writes) {
+        flushedBatches.incrementAndGet();
+        batchedWrites.addAndGet(writes.size());
+
+        String batchFunction = batchFunctions.get(key.functionName());
+        if (writes.size() > 1 && batchFunction != null && !unsupportedBatchFunctions.contains(batchFunction)) {
+            try {
+                submitAsBatch(key, batchFunction, writes);
+                return;
+            } catch (Exception e) {
+                if (isUnknownFunction(e)) {
+                    unsupportedBatchFunctions.add(batchFunction);
+                    logger.warn("Batch function {} is not available, submitting writes individually", batchFunction);
+                } else if (isEndorsementRejected(e)) {
+                    logger.warn("Batch {} of {} writes was not endorsed, retrying individually: {}",
+                            batchFunction, writes.size(), e.getMessage());
+                } else {
+                    failAll(batchFunction, writes, e);
+                    return;
+                }
+            }
+        }
+
+        // Pipelined individual submissions so one slow or failing write does not hold up the rest
+        for (PendingWrite write : writes) {
+            submitExecutor.execute(() -> {
+                try {
+                    write.result().complete(fabricGatewayService.submitTransactionForApiKey(
+                            key.apiKey(), key.functionName(), write.payload()));
+                } catch (Exception e) {
+                    write.result().completeExceptionally(e);
+                }
+            });
+        }
+    }
+
+    /**
+     * One transaction carrying a JSON array of payloads. The chaincode answers with an array of
+     * the same length whose elements are either the item result or an object with an "error" field.
+     */
+    private void submitAsBatch(BatchKey key, String batchFunction, List<PendingWrite> writes) throws Exception {
+        StringBuilder payloads = new StringBuilder("[");
+        for (int i = 0; i < writes.size(); i++) {
+            if (i > 0) {
+                payloads.append(',');
+            }
+            payloads.append(writes.get(i).payload());
+        }
+        payloads.append(']');
+
+        String result = fabricGatewayService.submitTransactionForApiKey(key.apiKey(), batchFunction, payloads.toString());
+        JsonNode results = objectMapper.readTree(result);
+
+        if (results == null || !results.isArray() || results.size() != writes.size()) {
+            throw new BlockchainException("Batch function " + batchFunction + " returned an unexpected result");
+        }
+
+        logger.debug("Submitted {} writes as one {} transaction", writes.size(), batchFunction);
+
+        for (int i = 0; i < writes.size(); i++) {
+            JsonNode itemResult = results.get(i);
+            if (itemResult.hasNonNull("error")) {
+                writes.get(i).result().completeExceptionally(new BlockchainException(itemResult.get("error").asText()));
+            } else {
+                writes.get(i).result().complete(itemResult.isTextual() ? itemResult.asText() : itemResult.toString());
+            }
+        }
+    }
+
+    /**
+     * The batch failed where it may already have been ordered or committed (call deadline, commit
+     * timeout, unreadable result). Resubmitting the writes individually could create each record
+     * twice, so every caller gets the failure instead. A call refused by the call guard was never sent.
+     */
+    private void failAll(String batchFunction, List<PendingWrite> writes, Exception e) {
+        Exception failure;
+        if (e instanceof FabricUnavailableException unavailable && unavailable.isRejectedBeforeCall()) {
+            failure = unavailable;
+        } else {
+            logger.error("Batch {} of {} writes failed after it may have been sent for ordering: {}",
+                    batchFunction, writes.size(), e.getMessage());
+            failure = new BlockchainException("Commit status unknown: batch " + batchFunction
+                    + " failed after it may have been ordered (" + e.getMessage()
+                    + "); check whether the record exists before retrying", e);
+        }
+        for (PendingWrite write : writes) {
+            write.result().completeExceptionally(failure);
+        }
+    }
+
+    /**
+     * The peers refused to endorse the batch, so it never reached the orderer
+     */
+    private boolean isEndorsementRejected(Throwable e) {
+        for (Throwable current = e; current != null; current = current.getCause()) {
+            String message = current.getMessage();
+            if (message != null && message.contains("No valid proposal responses")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isUnknownFunction(Throwable e) {
+        for (Throwable current = e; current != null; current = current.getCause()) {
+            String message = current.getMessage();
+            if (message != null && message.contains("does not exist")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flushScheduler == null) {
+            return;
+        }
+
+        // Send whatever is still waiting for its window before stopping
+        List<Map.Entry<BatchKey, List<PendingWrite>>> remaining;
+        synchronized (openBatches) {
+            remaining = new ArrayList<>(openBatches.entrySet());
+            openBatches.clear();
+        }
+        for (Map.Entry<BatchKey, List<PendingWrite>> entry : remaining) {
+            execute(entry.getKey(), entry.getValue());
+        }
+
+        flushScheduler.shutdownNow();
+        submitExecutor.shutdown();
+        try {
+            submitExecutor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.empverify.service;
+
+import com.empverify.dto.SearchResult;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmployeeSearchServiceTest {
+
+    private static final String FINGERPRINT = "3f2a9c1b";
+
+    @Test
+    void pageCursorRoundTripsThroughItsToken() {
+        EmployeeSearchService.PageCursor cursor = new EmployeeSearchService.PageCursor(0.8333333333333334, "EMP-2024-000042", FINGERPRINT);
+
+        assertEquals(cursor, EmployeeSearchService.PageCursor.decode(cursor.encode(), FINGERPRINT));
+    }
+
+    @Test
+    void pageCursorKeepsEmployeeIdsContainingTheSeparator() {
+        EmployeeSearchService.PageCursor cursor = new EmployeeSearchService.PageCursor(1.0, "EMP|2024|7", FINGERPRINT);
+
+        assertEquals("EMP|2024|7", EmployeeSearchService.PageCursor.decode(cursor.encode(), FINGERPRINT).employeeId());
+    }
+
+    @Test
+    void pageCursorRejectsTokensOfAnotherSearch() {
+        String token = new EmployeeSearchService.PageCursor(0.5, "EMP-2024-000042", FINGERPRINT).encode();
+
+        assertThrows(IllegalArgumentException.class, () -> EmployeeSearchService.PageCursor.decode(token, "0badf00d"));
+    }
+
+    @Test
+    void pageCursorRejectsTokensItDidNotIssue() {
+        String wrongVersion = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("2|0|" + FINGERPRINT + "|EMP-1").getBytes(StandardCharsets.UTF_8));
+        String badScore = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("1|zz|" + FINGERPRINT + "|EMP-1").getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IllegalArgumentException.class, () -> EmployeeSearchService.PageCursor.decode("not base64!", FINGERPRINT));
+        assertThrows(IllegalArgumentException.class, () -> EmployeeSearchService.PageCursor.decode(wrongVersion, FINGERPRINT));
+        assertThrows(IllegalArgumentException.class, () -> EmployeeSearchService.PageCursor.decode(badScore, FINGERPRINT));
+    }
+
+    @Test
+    void missingPageTokenStartsAtTheFirstPage() {
+        assertNull(EmployeeSearchService.PageCursor.decode(null, FINGERPRINT));
+    }
+
+    @Test
+    void pageCursorPrecedesLowerScoresAndLaterIdsOnly() {
+        EmployeeSearchService.PageCursor cursor = new EmployeeSearchService.PageCursor(0.8, "EMP-5", FINGERPRINT);
+
+        assertTrue(cursor.precedes(0.7, "EMP-1"));
+        assertTrue(cursor.precedes(0.8, "EMP-6"));
+        assertFalse(cursor.precedes(0.8, "EMP-5"));
+        assertFalse(cursor.precedes(0.8, "EMP-4"));
+        assertFalse(cursor.precedes(0.9, "EMP-9"));
+    }
+
+    @Test
+    void topResultsMatchAFullSort() {
+        List<SearchResult> candidates = candidates(new Random(7), 500);
+
+        EmployeeSearchService.TopResults top = new EmployeeSearchService.TopResults(25, null);
+        candidates.forEach(top::offer);
+
+        assertEquals(ids(fullOrder(candidates).subList(0, 25)), ids(top.sorted()));
+    }
+
+    @Test
+    void pagingWithCursorsReproducesTheFullOrder() {
+        List<SearchResult> candidates = candidates(new Random(11), 300);
+
+        List<SearchResult> paged = new ArrayList<>();
+        EmployeeSearchService.PageCursor after = null;
+        while (true) {
+            EmployeeSearchService.TopResults top = new EmployeeSearchService.TopResults(17, after);
+            candidates.forEach(top::offer);
+            List<SearchResult> page = top.sorted();
+            if (page.isEmpty()) {
+                break;
+            }
+            paged.addAll(page);
+            after = EmployeeSearchService.PageCursor.after(page.getLast(), FINGERPRINT);
+        }
+
+        assertEquals(ids(fullOrder(candidates)), ids(paged));
+    }
+
+    @Test
+    void topResultsOnlyRaiseTheBarOnceFull() {
+        EmployeeSearchService.TopResults top = new EmployeeSearchService.TopResults(2, null);
+        assertEquals(0.0, top.minScore());
+
+        top.offer(result("EMP-1", 0.9));
+        assertEquals(0.0, top.minScore());
+        top.offer(result("EMP-2", 0.6));
+        assertEquals(0.6, top.minScore());
+
+        assertFalse(top.wouldKeep(0.5, "EMP-0"));
+        assertFalse(top.wouldKeep(0.6, "EMP-3"));
+        assertTrue(top.wouldKeep(0.6, "EMP-0"));
+        assertTrue(top.wouldKeep(0.7, "EMP-9"));
+    }
+
+    @Test
+    void topResultsSkipEverythingUpToTheCursor() {
+        EmployeeSearchService.PageCursor after = new EmployeeSearchService.PageCursor(0.7, "EMP-2", FINGERPRINT);
+        EmployeeSearchService.TopResults top = new EmployeeSearchService.TopResults(10, after);
+
+        assertFalse(top.wouldKeep(0.9, "EMP-9"));
+        assertFalse(top.wouldKeep(0.7, "EMP-2"));
+        top.offer(result("EMP-1", 0.7));
+        top.offer(result("EMP-3", 0.7));
+        top.offer(result("EMP-4", 0.5));
+
+        assertEquals(List.of("EMP-3", "EMP-4"), ids(top.sorted()));
+    }
+
+    private static List<SearchResult> candidates(Random random, int count) {
+        List<SearchResult> results = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            // Few distinct scores, so many ties are broken by employee ID
+            results.add(result(String.format("EMP-%04d", random.nextInt(10_000)) + "-" + i, random.nextInt(6) / 5.0));
+        }
+        return results;
+    }
+
+    private static List<SearchResult> fullOrder(List<SearchResult> results) {
+        List<SearchResult> sorted = new ArrayList<>(results);
+        sorted.sort(Comparator.comparing(SearchResult::getMatchScore).reversed().thenComparing(SearchResult::getEmployeeId));
+        return sorted;
+    }
+
+    private static List<String> ids(List<SearchResult> results) {
+        return results.stream().map(SearchResult::getEmployeeId).toList();
+    }
+
+    private static SearchResult result(String employeeId, double matchScore) {
+        SearchResult result = new SearchResult();
+        result.setEmployeeId(employeeId);
+        result.setMatchScore(matchScore);
+        return result;
+    }
+}
@@ -0,0 +1,195 @@
+package com.empverify.service;
+
+import com.empverify.exception.FabricUnavailableException;
+import org.hyperledger.fabric.gateway.ContractException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FabricCallGuardTest {
+
+    private FabricCallGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        guard = new FabricCallGuard(new ExecutorFactory());
+        ReflectionTestUtils.setField(guard, "enabled", true);
+        ReflectionTestUtils.setField(guard, "maxConcurrentReads", 4);
+        ReflectionTestUtils.setField(guard, "maxConcurrentWrites", 1);
+        ReflectionTestUtils.setField(guard, "bulkheadWaitMs", 0L);
+        ReflectionTestUtils.setField(guard, "readTimeoutSeconds", 1L);
+        ReflectionTestUtils.setField(guard, "writeTimeoutSeconds", 5L);
+        ReflectionTestUtils.setField(guard, "windowSize", 4);
+        ReflectionTestUtils.setField(guard, "minimumCalls", 4);
+        ReflectionTestUtils.setField(guard, "failureRateThreshold", 50);
+        ReflectionTestUtils.setField(guard, "openSeconds", 60L);
+        ReflectionTestUtils.setField(guard, "halfOpenCalls", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        guard.shutdown();
+    }
+
+    @Test
+    void opensOnceTheFailureRateIsReachedAndRejectsWithoutCalling() throws Exception {
+        guard.initialize();
+        succeed();
+        succeed();
+        fail();
+        assertEquals("CLOSED", breakerState());
+
+        fail();
+        assertEquals("OPEN", breakerState());
+
+        AtomicBoolean called = new AtomicBoolean();
+        FabricUnavailableException rejected = assertThrows(FabricUnavailableException.class,
+                () -> guard.read("getRecord", () -> called.getAndSet(true)));
+        assertTrue(rejected.isRejectedBeforeCall());
+        assertFalse(called.get());
+    }
+
+    @Test
+    void staysClosedBelowTheMinimumNumberOfCalls() throws Exception {
+        guard.initialize();
+        fail();
+        fail();
+        fail();
+        assertEquals("CLOSED", breakerState());
+        assertEquals("ok", guard.read("getRecord", () -> "ok"));
+    }
+
+    @Test
+    void chaincodeErrorsDoNotCountAsFailures() throws Exception {
+        guard.initialize();
+        for (int i = 0; i < 4; i++) {
+            assertThrows(ContractException.class, () -> guard.read("getRecord", () -> {
+                throw new ContractException("RECORD_NOT_FOUND");
+            }));
+        }
+        assertEquals("CLOSED", breakerState());
+    }
+
+    @Test
+    void halfOpenClosesAfterTheTrialCallsSucceed() throws Exception {
+        ReflectionTestUtils.setField(guard, "openSeconds", 0L);
+        guard.initialize();
+        openBreaker();
+
+        succeed();
+        assertEquals("HALF_OPEN", breakerState());
+        succeed();
+        assertEquals("CLOSED", breakerState());
+    }
+
+    @Test
+    void halfOpenReopensOnAFailedTrialCall() throws Exception {
+        ReflectionTestUtils.setField(guard, "openSeconds", 0L);
+        guard.initialize();
+        openBreaker();
+
+        succeed();
+        fail();
+        assertEquals("OPEN", breakerState());
+    }
+
+    @Test
+    void fullBulkheadRejectsWithoutCountingAFailure() throws Exception {
+        guard.initialize();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        Thread writer = Thread.ofPlatform().daemon(true).start(() -> {
+            try {
+                guard.write("createRecord", () -> {
+                    started.countDown();
+                    return release.await(5, TimeUnit.SECONDS);
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        FabricUnavailableException rejected = assertThrows(FabricUnavailableException.class,
+                () -> guard.write("createRecord", () -> "second"));
+        assertTrue(rejected.isRejectedBeforeCall());
+
+        release.countDown();
+        writer.join(5000);
+        assertEquals(0, circuitBreakerStatistics().get("window_failures"));
+    }
+
+    @Test
+    void callPastTheDeadlineIsInterruptedAndCountsAsAFailure() throws Exception {
+        guard.initialize();
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        FabricUnavailableException timedOut = assertThrows(FabricUnavailableException.class,
+                () -> guard.read("getRecord", () -> {
+                    try {
+                        Thread.sleep(10_000);
+                        return "late";
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                        throw e;
+                    }
+                }));
+
+        assertFalse(timedOut.isRejectedBeforeCall());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        assertEquals(1, circuitBreakerStatistics().get("window_failures"));
+    }
+
+    @Test
+    void disabledGuardCallsThrough() throws Exception {
+        ReflectionTestUtils.setField(guard, "enabled", false);
+        guard.initialize();
+        AtomicInteger calls = new AtomicInteger();
+        for (int i = 0; i < 10; i++) {
+            assertThrows(IllegalStateException.class, () -> guard.read("getRecord", () -> {
+                calls.incrementAndGet();
+                throw new IllegalStateException("peer down");
+            }));
+        }
+        assertEquals(10, calls.get());
+        assertEquals("CLOSED", breakerState());
+    }
+
+    private void openBreaker() {
+        for (int i = 0; i < 4; i++) {
+            fail();
+        }
+        assertEquals("OPEN", breakerState());
+    }
+
+    private void succeed() throws Exception {
+        assertEquals("ok", guard.read("getRecord", () -> "ok"));
+    }
+
+    private void fail() {
+        assertThrows(IllegalStateException.class, () -> guard.read("getRecord", () -> {
+            throw new IllegalStateException("peer down");
+        }));
+    }
+
+    private String breakerState() {
+        return (String) circuitBreakerStatistics().get("state");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> circuitBreakerStatistics() {
+        return (Map<String, Object>) guard.getStatistics().get("circuit_breaker");
+    }
+}
@@ -0,0 +1,121 @@
+package com.empverify.service;
+
+import com.empverify.dto.EmploymentRecordDto;
+import com.empverify.dto.NameInfoDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndexSnapshotStoreTest {
+
+    private static final String READER = "Org1MSP/index-reader";
+
+    @TempDir
+    Path directory;
+
+    private Path snapshot;
+    private IndexSnapshotStore store;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = directory.resolve("record-index.snapshot");
+        store = new IndexSnapshotStore(new ObjectMapper());
+        ReflectionTestUtils.setField(store, "snapshotPath", snapshot.toString());
+    }
+
+    @Test
+    void roundTripsRecordsCountersAndBlock() throws Exception {
+        store.write(List.of(record("EMP-2024-000001", "Kwame Mensah"), record("EMP-2024-000002", "Ama Owusu")),
+                Map.of(2023, 7, 2024, 2), 42L, READER);
+
+        List<EmploymentRecordDto> loaded = new ArrayList<>();
+        IndexSnapshotStore.SnapshotInfo info = store.load(READER, loaded::add);
+
+        assertNotNull(info);
+        assertEquals(42L, info.blockNumber());
+        assertEquals(Map.of(2023, 7, 2024, 2), info.counters());
+        assertEquals(2, info.records());
+        assertEquals(List.of("EMP-2024-000001", "EMP-2024-000002"),
+                loaded.stream().map(EmploymentRecordDto::getEmployeeId).toList());
+        assertEquals("Ama Owusu", loaded.get(1).getEmployeeName().getFullName());
+        assertEquals("EMPLOYER-1", loaded.get(1).getEmployerId());
+    }
+
+    @Test
+    void writeReplacesThePreviousSnapshot() throws Exception {
+        store.write(List.of(record("EMP-2024-000001", "Kwame Mensah")), Map.of(2024, 1), 10L, READER);
+        store.write(List.of(), Map.of(2024, 1), 11L, READER);
+
+        List<EmploymentRecordDto> loaded = new ArrayList<>();
+        assertEquals(11L, store.load(READER, loaded::add).blockNumber());
+        assertTrue(loaded.isEmpty());
+        try (var files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void snapshotReadWithAnotherIdentityIsIgnored() throws Exception {
+        store.write(List.of(record("EMP-2024-000001", "Kwame Mensah")), Map.of(2024, 1), 42L, READER);
+
+        List<EmploymentRecordDto> loaded = new ArrayList<>();
+        assertNull(store.load("Org2MSP/other-reader", loaded::add));
+        assertTrue(loaded.isEmpty());
+    }
+
+    @Test
+    void corruptedSnapshotFailsItsChecksum() throws Exception {
+        store.write(List.of(record("EMP-2024-000001", "Kwame Mensah")), Map.of(2024, 1), 42L, READER);
+
+        byte[] bytes = Files.readAllBytes(snapshot);
+        bytes[bytes.length / 2] ^= 0x01;
+        Files.write(snapshot, bytes);
+
+        List<EmploymentRecordDto> loaded = new ArrayList<>();
+        assertNull(store.load(READER, loaded::add));
+        assertTrue(loaded.isEmpty());
+    }
+
+    @Test
+    void truncatedSnapshotIsIgnored() throws Exception {
+        store.write(List.of(record("EMP-2024-000001", "Kwame Mensah")), Map.of(2024, 1), 42L, READER);
+
+        byte[] bytes = Files.readAllBytes(snapshot);
+        Files.write(snapshot, Arrays.copyOf(bytes, bytes.length - 3));
+
+        assertNull(store.load(READER, record -> {
+        }));
+    }
+
+    @Test
+    void missingSnapshotIsIgnored() {
+        assertNull(store.load(READER, record -> {
+        }));
+    }
+
+    private static EmploymentRecordDto record(String employeeId, String fullName) {
+        NameInfoDto name = new NameInfoDto();
+        name.setFullName(fullName);
+
+        EmploymentRecordDto record = new EmploymentRecordDto();
+        record.setEmployeeId(employeeId);
+        record.setEmployeeName(name);
+        record.setEmployerId("EMPLOYER-1");
+        record.setJobTitle("Engineer");
+        return record;
+    }
+}
@@ -0,0 +1,118 @@
+package com.empverify.service;
+
+import com.empverify.dto.RecordChangeDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LedgerReadCacheTest {
+
+    private LedgerReadCache cache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        cache = new LedgerReadCache();
+        ReflectionTestUtils.setField(cache, "cacheEnabled", true);
+        ReflectionTestUtils.setField(cache, "maxEmployees", 2);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 60L);
+    }
+
+    @Test
+    void cachesPerEmployeeKindAndIdentity() throws Exception {
+        assertEquals("v1", read("EMP-1", "getRecord", "org1/user"));
+        assertEquals("v1", read("EMP-1", "getRecord", "org1/user"));
+        assertEquals(1, loads.get());
+
+        // Another identity or read kind never sees this entry
+        assertEquals("v2", read("EMP-1", "getRecord", "org2/user"));
+        assertEquals("v3", read("EMP-1", "getDocuments", "org1/user"));
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void invalidateDropsEveryEntryOfTheEmployee() throws Exception {
+        read("EMP-1", "getRecord", "org1/user");
+        read("EMP-1", "getDocuments", "org1/user");
+        read("EMP-2", "getRecord", "org1/user");
+
+        cache.invalidate("EMP-1");
+
+        assertEquals("v4", read("EMP-1", "getRecord", "org1/user"));
+        assertEquals("v5", read("EMP-1", "getDocuments", "org1/user"));
+        assertEquals("v3", read("EMP-2", "getRecord", "org1/user"));
+    }
+
+    @Test
+    void loadThatRacesWithAnInvalidationIsNotCached() throws Exception {
+        String value = cache.get("EMP-1", "getRecord", "org1/user", String.class, () -> {
+            loads.incrementAndGet();
+            // A write lands while the old version is being read
+            cache.invalidate("EMP-1");
+            return "stale";
+        });
+        assertEquals("stale", value);
+
+        assertEquals("v2", read("EMP-1", "getRecord", "org1/user"));
+        assertEquals("v2", read("EMP-1", "getRecord", "org1/user"));
+    }
+
+    @Test
+    void loadThatRacesWithInvalidateAllIsNotCached() throws Exception {
+        cache.get("EMP-1", "getRecord", "org1/user", String.class, () -> {
+            loads.incrementAndGet();
+            cache.invalidateAll();
+            return "stale";
+        });
+
+        assertEquals("v2", read("EMP-1", "getRecord", "org1/user"));
+    }
+
+    @Test
+    void failedLoadsAreNotCached() throws Exception {
+        assertThrows(IOException.class, () -> cache.get("EMP-1", "getRecord", "org1/user", String.class, () -> {
+            throw new IOException("peer unavailable");
+        }));
+
+        assertEquals("v1", read("EMP-1", "getRecord", "org1/user"));
+    }
+
+    @Test
+    void leastRecentlyUsedEmployeeIsEvictedPastTheLimit() throws Exception {
+        read("EMP-1", "getRecord", "org1/user");
+        read("EMP-2", "getRecord", "org1/user");
+        read("EMP-1", "getRecord", "org1/user");
+        read("EMP-3", "getRecord", "org1/user");
+
+        assertEquals("v1", read("EMP-1", "getRecord", "org1/user"));
+        assertEquals("v4", read("EMP-2", "getRecord", "org1/user"));
+    }
+
+    @Test
+    void changeWithoutEmployeeInvalidatesEverything() throws Exception {
+        read("EMP-1", "getRecord", "org1/user");
+        read("EMP-2", "getRecord", "org1/user");
+
+        cache.onRecordChange(new RecordChangeDto());
+
+        assertEquals("v3", read("EMP-1", "getRecord", "org1/user"));
+        assertEquals("v4", read("EMP-2", "getRecord", "org1/user"));
+    }
+
+    @Test
+    void readsWithoutIdentityBypassTheCache() throws Exception {
+        read("EMP-1", "getRecord", null);
+        read("EMP-1", "getRecord", null);
+        assertEquals(2, loads.get());
+    }
+
+    private String read(String employeeId, String kind, String identity) throws Exception {
+        return cache.get(employeeId, kind, identity, String.class, () -> "v" + loads.incrementAndGet());
+    }
+}
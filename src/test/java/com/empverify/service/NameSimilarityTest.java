@@ -0,0 +1,107 @@
+package com.empverify.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NameSimilarityTest {
+
+    private static final String ALPHABET = "abcde fgh";
+    private static final String NON_ASCII_ALPHABET = "abcdéèñ ";
+
+    @Test
+    void identicalAndEmptyNamesAreFullySimilar() {
+        assertEquals(1.0, NameSimilarity.similarity("kwame mensah", "kwame mensah"));
+        assertEquals(1.0, NameSimilarity.similarity("", ""));
+    }
+
+    @Test
+    void nullNamesAreNotSimilar() {
+        assertEquals(0.0, NameSimilarity.similarity(null, "kwame"));
+        assertEquals(0.0, NameSimilarity.similarity("kwame", null));
+    }
+
+    @Test
+    void similarityIsOneMinusDistanceOverLongerLength() {
+        assertEquals(3, NameSimilarity.distance("kitten", "sitting", Integer.MAX_VALUE));
+        assertEquals(1.0 - 3.0 / 7, NameSimilarity.similarity("kitten", "sitting"), 1e-12);
+        assertEquals(0.0, NameSimilarity.similarity("abc", "xyz"));
+    }
+
+    @Test
+    void distanceStopsOnceTheBoundIsExceeded() {
+        assertEquals(2, NameSimilarity.distance("kitten", "sitting", 1));
+        assertEquals(3, NameSimilarity.distance("ab", "abcdefg", 2));
+        assertEquals(3, NameSimilarity.distance("kitten", "sitting", 3));
+    }
+
+    @Test
+    void boundedSimilarityIsExactAtOrAboveMinScoreAndZeroBelow() {
+        Random random = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            String a = randomName(random, ALPHABET, 12);
+            String b = randomName(random, ALPHABET, 12);
+            double minScore = random.nextDouble();
+
+            double exact = NameSimilarity.similarity(a, b);
+            double bounded = NameSimilarity.similarity(a, b, minScore);
+
+            assertTrue(exact >= 0.0 && exact <= 1.0, a + " / " + b);
+            if (exact >= minScore) {
+                assertEquals(exact, bounded, 1e-12, a + " / " + b + " at " + minScore);
+            } else {
+                assertEquals(0.0, bounded, a + " / " + b + " at " + minScore);
+            }
+        }
+    }
+
+    @Test
+    void bitParallelAndBandedDistancesMatchTheReference() {
+        Random random = new Random(11);
+        for (int i = 0; i < 2000; i++) {
+            // Short ASCII names take the bit-parallel path; long or non-ASCII ones the banded DP
+            String alphabet = i % 2 == 0 ? ALPHABET : NON_ASCII_ALPHABET;
+            int maxLength = i % 3 == 0 ? 90 : 20;
+            String a = randomName(random, alphabet, maxLength);
+            String b = randomName(random, alphabet, maxLength);
+            int maxDistance = random.nextInt(Math.max(a.length(), b.length()) + 2);
+
+            int expected = referenceDistance(a, b);
+            int actual = NameSimilarity.distance(a, b, maxDistance);
+            if (expected <= maxDistance) {
+                assertEquals(expected, actual, a + " / " + b + " within " + maxDistance);
+            } else {
+                assertEquals(maxDistance + 1, actual, a + " / " + b + " within " + maxDistance);
+            }
+        }
+    }
+
+    private static String randomName(Random random, String alphabet, int maxLength) {
+        StringBuilder name = new StringBuilder();
+        int length = random.nextInt(maxLength + 1);
+        for (int i = 0; i < length; i++) {
+            name.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return name.toString();
+    }
+
+    private static int referenceDistance(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+}
@@ -0,0 +1,114 @@
+package com.empverify.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    void concurrentCallersShareOneCall() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<String> first = callAsync("EMP-1", () -> {
+            calls.incrementAndGet();
+            release.await(5, TimeUnit.SECONDS);
+            return "record";
+        });
+        awaitCondition(() -> singleFlight.inFlightCount() == 1);
+
+        CompletableFuture<String> second = callAsync("EMP-1", () -> {
+            calls.incrementAndGet();
+            return "other";
+        });
+        awaitCondition(() -> singleFlight.sharedCount() == 1);
+        release.countDown();
+
+        assertEquals("record", first.get(5, TimeUnit.SECONDS));
+        assertEquals("record", second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+        assertEquals(1, singleFlight.executedCount());
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    void waitingCallersReceiveTheFailure() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> first = callAsync("EMP-1", () -> {
+            release.await(5, TimeUnit.SECONDS);
+            throw new IOException("peer unavailable");
+        });
+        awaitCondition(() -> singleFlight.inFlightCount() == 1);
+
+        CompletableFuture<String> second = callAsync("EMP-1", () -> "unused");
+        awaitCondition(() -> singleFlight.sharedCount() == 1);
+        release.countDown();
+
+        ExecutionException firstFailure = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        ExecutionException secondFailure = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, firstFailure.getCause());
+        assertInstanceOf(IOException.class, secondFailure.getCause());
+    }
+
+    @Test
+    void completedCallsAreNotReused() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertEquals("1", singleFlight.execute("EMP-1", () -> String.valueOf(calls.incrementAndGet())));
+        assertEquals("2", singleFlight.execute("EMP-1", () -> String.valueOf(calls.incrementAndGet())));
+        assertEquals(2, singleFlight.executedCount());
+        assertEquals(0, singleFlight.sharedCount());
+    }
+
+    @Test
+    void differentKeysDoNotWaitForEachOther() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> blocked = callAsync("EMP-1", () -> {
+            release.await(5, TimeUnit.SECONDS);
+            return "first";
+        });
+        awaitCondition(() -> singleFlight.inFlightCount() == 1);
+
+        assertEquals("second", singleFlight.execute("EMP-2", () -> "second"));
+        release.countDown();
+        assertEquals("first", blocked.get(5, TimeUnit.SECONDS));
+        assertEquals(0, singleFlight.sharedCount());
+    }
+
+    private CompletableFuture<String> callAsync(String key, Callable<String> call) {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        Thread.ofPlatform().daemon(true).start(() -> {
+            try {
+                result.complete(singleFlight.execute(key, call));
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("condition not reached");
+            }
+            Thread.sleep(1);
+        }
+    }
+}